@@ -0,0 +1,150 @@
+package ma.code212.gateway.benchmark;
+
+import ma.code212.gateway.enums.JobStatus;
+import ma.code212.gateway.enums.Sentiment;
+import ma.code212.gateway.model.Article;
+import ma.code212.gateway.model.Comment;
+import ma.code212.gateway.model.ScrapingJob;
+import ma.code212.gateway.model.SentimentAnalysisResult;
+import ma.code212.gateway.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic fixtures shaped like production data: French and Arabic news
+ * comments of a few dozen to a few hundred characters, Hespress-style URLs
+ */
+public final class BenchmarkData {
+
+    private static final String[] WORDS = {
+            "le", "gouvernement", "doit", "agir", "rapidement", "pour", "les", "citoyens",
+            "هذا", "القرار", "مهم", "جدا", "للمغرب", "bravo", "honte", "encore", "une", "fois"
+    };
+
+    private BenchmarkData() {
+    }
+
+    public static String articleUrl(int index) {
+        return "https://www.hespress.com/politique/article-" + (100000 + index) + ".html?utm_source=share";
+    }
+
+    public static List<String> commentTexts(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = 5 + random.nextInt(60);
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < length; w++) {
+                if (w > 0) {
+                    text.append(' ');
+                }
+                text.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            comments.add(text.toString());
+        }
+        return comments;
+    }
+
+    public static User user() {
+        LocalDateTime now = LocalDateTime.now();
+        return User.builder()
+                .id(UUID.randomUUID())
+                .keycloakId(UUID.randomUUID().toString())
+                .username("bench-user")
+                .email("bench-user@example.com")
+                .firstName("Bench")
+                .lastName("User")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    public static Article article(User user) {
+        return Article.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .title("Article de test")
+                .url(articleUrl(1))
+                .canonicalUrl(articleUrl(1))
+                .totalComments(250)
+                .scrapedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static Comment comment(Article article, String content) {
+        LocalDateTime now = LocalDateTime.now();
+        return Comment.builder()
+                .id(UUID.randomUUID())
+                .content(content)
+                .article(article)
+                .scrapedAt(now)
+                .sentiment(Sentiment.NEUTRAL)
+                .confidenceScore(0.87f)
+                .isProcessed(true)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    public static SentimentAnalysisResult result(Comment comment) {
+        LocalDateTime now = LocalDateTime.now();
+        return SentimentAnalysisResult.builder()
+                .id(UUID.randomUUID())
+                .comment(comment)
+                .modelName("default_model")
+                .sentiment(Sentiment.NEUTRAL)
+                .confidenceScore(0.87f)
+                .positiveScore(0.05f)
+                .negativeScore(0.08f)
+                .neutralScore(0.87f)
+                .processedAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    public static ScrapingJob scrapingJob(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        return ScrapingJob.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .status(JobStatus.COMPLETED)
+                .targetUrl(articleUrl(1))
+                .pagesScraped(1)
+                .commentsFound(250)
+                .configuration(Map.of("source", "api_scrape_comments", "cached", false))
+                .startTime(now.minusSeconds(40))
+                .endTime(now)
+                .createdAt(now.minusSeconds(40))
+                .updatedAt(now)
+                .build();
+    }
+
+    /**
+     * Body returned by FastAPI {@code /comment-classification}
+     */
+    public static String classificationResponse() {
+        return "{\"sentiment\":\"neutral\",\"results\":["
+                + "{\"label\":\"positive\",\"score\":0.0512},"
+                + "{\"label\":\"negative\",\"score\":0.0803},"
+                + "{\"label\":\"neutral\",\"score\":0.8685}]}";
+    }
+
+    /**
+     * Body returned by FastAPI {@code /scrape-comments}
+     */
+    public static String scrapeResponse(List<String> comments) {
+        StringBuilder json = new StringBuilder("{\"comments\":[");
+        for (int i = 0; i < comments.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(comments.get(i).replace("\"", "\\\"")).append('"');
+        }
+        return json.append("],\"total_comments\":").append(comments.size()).append('}').toString();
+    }
+}
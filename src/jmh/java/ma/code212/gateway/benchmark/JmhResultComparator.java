@@ -0,0 +1,123 @@
+package ma.code212.gateway.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Compares two JMH JSON result files and prints a per-benchmark report.
+ * A benchmark regresses when its score moves in the bad direction by more than
+ * the threshold and by more than the combined error margins; the allocation
+ * rate per operation (from {@code -prof gc}) is compared the same way.
+ * Exits with status 1 when any benchmark regressed, so it can gate a CI job.
+ *
+ * <p>Usage: {@code JmhResultComparator <baseline.json> <current.json> [threshold-percent]}
+ */
+public final class JmhResultComparator {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultComparator <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            System.err.println("Baseline not found: " + baselineFile + " (copy a jmh-result.json there to create one)");
+            System.exit(2);
+        }
+
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Result> baseline = read(objectMapper.readTree(baselineFile));
+        Map<String, Result> current = read(objectMapper.readTree(new File(args[1])));
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-90s %14s %14s %9s %12s%n", "Benchmark", "Baseline", "Current", "Change", "Alloc change");
+
+        for (String key : new TreeSet<>(current.keySet())) {
+            Result now = current.get(key);
+            Result before = baseline.get(key);
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s %12s  (new, %s)%n", key, "-", now.score, "-", "-", now.unit);
+                continue;
+            }
+
+            double change = percentChange(before.score, now.score);
+            // Lower is better for time per operation, higher for throughput
+            double worse = now.higherIsBetter ? -change : change;
+            boolean beyondNoise = Math.abs(now.score - before.score) > before.error + now.error;
+            boolean slower = worse > threshold && beyondNoise;
+
+            String allocation = "-";
+            boolean allocates = false;
+            if (before.allocation != null && now.allocation != null) {
+                double allocationChange = percentChange(before.allocation, now.allocation);
+                allocation = String.format("%+.1f%%", allocationChange);
+                allocates = allocationChange > threshold && now.allocation - before.allocation > 16;
+            }
+
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %12s  %s%s%n", key, before.score, now.score, change,
+                    allocation, now.unit, slower || allocates ? "  REGRESSION" : "");
+            if (slower || allocates) {
+                regressions.add(key);
+            }
+        }
+
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-90s (missing from current run)%n", key);
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.printf("%n%d benchmark(s) regressed by more than %.1f%%%n", regressions.size(), threshold);
+            System.exit(1);
+        }
+        System.out.printf("%nNo regression above %.1f%%%n", threshold);
+    }
+
+    private static Map<String, Result> read(JsonNode results) {
+        Map<String, Result> byKey = new LinkedHashMap<>();
+        for (JsonNode run : results) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asText());
+            JsonNode params = run.get("params");
+            if (params != null) {
+                params.fields().forEachRemaining(param ->
+                        key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            }
+
+            JsonNode primary = run.get("primaryMetric");
+            JsonNode secondary = run.get("secondaryMetrics");
+            JsonNode allocation = secondary != null ? secondary.get(ALLOCATION_METRIC) : null;
+            String mode = run.get("mode").asText();
+
+            byKey.put(key.toString(), new Result(
+                    primary.get("score").asDouble(),
+                    primary.get("scoreError").isNumber() ? primary.get("scoreError").asDouble() : 0,
+                    primary.get("scoreUnit").asText(),
+                    "thrpt".equals(mode),
+                    allocation != null ? allocation.get("score").asDouble() : null));
+        }
+        return byKey;
+    }
+
+    private static double percentChange(double before, double now) {
+        return before == 0 ? 0 : (now - before) / before * 100;
+    }
+
+    private record Result(double score, double error, String unit, boolean higherIsBetter, Double allocation) {
+    }
+}
@@ -0,0 +1,67 @@
+package ma.code212.gateway.dto;
+
+import ma.code212.gateway.benchmark.BenchmarkData;
+import ma.code212.gateway.model.Article;
+import ma.code212.gateway.model.Comment;
+import ma.code212.gateway.model.ScrapingJob;
+import ma.code212.gateway.model.SentimentAnalysisResult;
+import ma.code212.gateway.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping used by the controllers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMapperBenchmark {
+
+    private final DtoMapper dtoMapper = new DtoMapper();
+
+    private User user;
+
+    private Article article;
+
+    private Comment comment;
+
+    private SentimentAnalysisResult result;
+
+    private ScrapingJob scrapingJob;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkData.user();
+        article = BenchmarkData.article(user);
+        comment = BenchmarkData.comment(article, BenchmarkData.commentTexts(1, 42).get(0));
+        result = BenchmarkData.result(comment);
+        scrapingJob = BenchmarkData.scrapingJob(user);
+    }
+
+    @Benchmark
+    public ArticleDto articleDto() {
+        return dtoMapper.toArticleDto(article, user);
+    }
+
+    @Benchmark
+    public CommentDto commentDto() {
+        return dtoMapper.toCommentDto(comment);
+    }
+
+    @Benchmark
+    public SentimentAnalysisResultDto sentimentAnalysisResultDto() {
+        return dtoMapper.toSentimentAnalysisResultDto(result);
+    }
+
+    @Benchmark
+    public ScrapingJobDto scrapingJobDto() {
+        return dtoMapper.toScrapingJobDto(scrapingJob, user);
+    }
+}
@@ -0,0 +1,159 @@
+package ma.code212.gateway.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import ma.code212.gateway.benchmark.BenchmarkData;
+import ma.code212.gateway.dto.DtoMapper;
+import ma.code212.gateway.dto.ScrapingJobDto;
+import ma.code212.gateway.dto.ScrapingJobSummaryDto;
+import ma.code212.gateway.dto.UserDto;
+import ma.code212.gateway.enums.JobStatus;
+import ma.code212.gateway.model.ScrapingJob;
+import ma.code212.gateway.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * GET /api/scraping-jobs for a user with many jobs, from the database to the JSON
+ * body: full entities with configuration and errors mapped to ScrapingJobDto,
+ * against the summary projection. Runs on embedded PostgreSQL with only the JPA
+ * part of the application context; use {@code -prof gc} for allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ScrapingJobListingBenchmark {
+
+    private static final String INSERT_JOB_SQL =
+            "INSERT INTO scraping_jobs (id, user_id, status, start_time, end_time, target_url, pages_scraped, comments_found, " +
+            "errors, configuration, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?)";
+
+    @Param({"10000"})
+    public int jobs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final DtoMapper dtoMapper = new DtoMapper();
+
+    private EmbeddedPostgres postgres;
+
+    private ConfigurableApplicationContext context;
+
+    private UserRepository userRepository;
+
+    private ScrapingJobRepository scrapingJobRepository;
+
+    private String keycloakId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(JpaContext.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=");
+        userRepository = context.getBean(UserRepository.class);
+        scrapingJobRepository = context.getBean(ScrapingJobRepository.class);
+
+        User user = BenchmarkData.user();
+        user.setId(null);
+        user = userRepository.save(user);
+        keycloakId = user.getKeycloakId();
+        insertJobs(context.getBean(JdbcTemplate.class), user.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    /**
+     * Previous read path: full user and job entities, every job with its own user copy
+     */
+    @Benchmark
+    public byte[] entities() throws Exception {
+        User user = userRepository.findByKeycloakId(keycloakId).orElseThrow();
+        UserDto userDto = dtoMapper.toUserDto(user);
+        List<ScrapingJobDto> scrapingJobs = scrapingJobRepository.findByUserId(user.getId()).stream()
+                .map(job -> dtoMapper.toScrapingJobDto(job, userDto))
+                .toList();
+        return objectMapper.writeValueAsBytes(Map.of("scrapingJobs", scrapingJobs, "totalJobs", scrapingJobs.size()));
+    }
+
+    /**
+     * Projection read path used by the controller
+     */
+    @Benchmark
+    public byte[] summaries() throws Exception {
+        UserDto user = userRepository.findDtoByKeycloakId(keycloakId).orElseThrow();
+        List<ScrapingJobSummaryDto> scrapingJobs = scrapingJobRepository.findSummariesByUserId(user.getId());
+        return objectMapper.writeValueAsBytes(Map.of("user", user, "scrapingJobs", scrapingJobs, "totalJobs", scrapingJobs.size()));
+    }
+
+    private void insertJobs(JdbcTemplate jdbcTemplate, UUID userId) throws Exception {
+        String configuration = objectMapper.writeValueAsString(Map.of(
+                "title", "Article de test",
+                "userAgent", "Spring-Gateway-Bot",
+                "maxPages", 1,
+                "timeout", 30000));
+        // Failed jobs carry an upstream error body, as they do in production
+        String error = "FastAPI returned 502 Bad Gateway: " + "upstream connect error ".repeat(40);
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+
+        List<Object[]> rows = new ArrayList<>(jobs);
+        IntStream.range(0, jobs).forEach(i -> {
+            boolean failed = i % 10 == 0;
+            Timestamp createdAt = Timestamp.valueOf(start.plusMinutes(i));
+            Timestamp endedAt = Timestamp.valueOf(start.plusMinutes(i).plusSeconds(40));
+            rows.add(new Object[] {
+                    UUID.randomUUID(), userId, (failed ? JobStatus.FAILED : JobStatus.COMPLETED).name(),
+                    createdAt, endedAt, BenchmarkData.articleUrl(i), 1, failed ? 0 : 250,
+                    failed ? error : null, configuration, createdAt, endedAt
+            });
+        });
+        jdbcTemplate.batchUpdate(INSERT_JOB_SQL, rows);
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+            FlywayAutoConfiguration.class, HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = ScrapingJob.class)
+    @EnableJpaRepositories(basePackageClasses = ScrapingJobRepository.class)
+    static class JpaContext {
+    }
+}
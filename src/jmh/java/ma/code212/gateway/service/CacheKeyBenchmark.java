@@ -0,0 +1,80 @@
+package ma.code212.gateway.service;
+
+import ma.code212.gateway.benchmark.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis key derivation, done for every scraping and classification cache operation.
+ * {@code legacyScrapingKey} is the previous implementation (provider lookup and
+ * per-byte hex strings), kept as the reference for {@code -prof gc} comparisons.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheKeyBenchmark {
+
+    private final CacheKeyGenerator cacheKeyGenerator = new CacheKeyGenerator();
+
+    private final UrlCanonicalizer urlCanonicalizer = new UrlCanonicalizer();
+
+    private String url;
+
+    private String canonicalUrl;
+
+    private String comment;
+
+    @Setup
+    public void setUp() {
+        ReflectionTestUtils.setField(urlCanonicalizer, "stripHostPrefixes", new String[] {"www.", "m.", "mobile."});
+        url = BenchmarkData.articleUrl(42);
+        canonicalUrl = urlCanonicalizer.canonicalize(url);
+        comment = ClassificationCacheService.normalize(BenchmarkData.commentTexts(1, 42).get(0));
+    }
+
+    @Benchmark
+    public String legacyScrapingKey() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest(canonicalUrl.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : hash) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
+            }
+            hexString.append(hex);
+        }
+        return "scraping:" + hexString;
+    }
+
+    @Benchmark
+    public String scrapingKey() {
+        return cacheKeyGenerator.sha256Key("scraping", canonicalUrl);
+    }
+
+    @Benchmark
+    public String canonicalizeAndScrapingKey() {
+        return cacheKeyGenerator.sha256Key("scraping", urlCanonicalizer.canonicalize(url));
+    }
+
+    @Benchmark
+    public String canonicalize() {
+        return urlCanonicalizer.canonicalize(url);
+    }
+
+    @Benchmark
+    public String classificationKey() {
+        // Mixed French and Arabic text exercises the multi-byte UTF-8 path
+        return cacheKeyGenerator.sha256Key("classification:default_model", comment);
+    }
+}
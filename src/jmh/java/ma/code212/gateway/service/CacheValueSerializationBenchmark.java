@@ -0,0 +1,87 @@
+package ma.code212.gateway.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.code212.gateway.benchmark.BenchmarkData;
+import ma.code212.gateway.enums.Sentiment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis value (de)serialization with the serializer configured in RedisConfig,
+ * for scraped comment lists of typical sizes and for cached classifications
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheValueSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int comments;
+
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ScrapingCacheService.ScrapedCommentsCache scrapedComments;
+
+    private byte[] scrapedCommentsBytes;
+
+    private FastApiService.Classification classification;
+
+    private byte[] classificationBytes;
+
+    @Setup
+    public void setUp() {
+        List<String> texts = BenchmarkData.commentTexts(comments, 42);
+        long now = System.currentTimeMillis();
+        scrapedComments = ScrapingCacheService.ScrapedCommentsCache.builder()
+                .url(BenchmarkData.articleUrl(1))
+                .comments(texts)
+                .totalComments(texts.size())
+                .timestamp(now)
+                .firstSeenAt(now)
+                .ttlSeconds(3600)
+                .build();
+        scrapedCommentsBytes = serializer.serialize(scrapedComments);
+
+        classification = FastApiService.Classification.builder()
+                .sentiment(Sentiment.NEUTRAL)
+                .confidenceScore(0.8685f)
+                .positiveScore(0.0512f)
+                .negativeScore(0.0803f)
+                .neutralScore(0.8685f)
+                .build();
+        classificationBytes = serializer.serialize(classification);
+    }
+
+    @Benchmark
+    public byte[] serializeScrapedComments() {
+        return serializer.serialize(scrapedComments);
+    }
+
+    @Benchmark
+    public ScrapingCacheService.ScrapedCommentsCache deserializeScrapedComments() {
+        // ScrapingCacheService converts whatever the template returns to the cache type
+        return objectMapper.convertValue(serializer.deserialize(scrapedCommentsBytes), ScrapingCacheService.ScrapedCommentsCache.class);
+    }
+
+    @Benchmark
+    public byte[] serializeClassification() {
+        return serializer.serialize(classification);
+    }
+
+    @Benchmark
+    public Object deserializeClassification() {
+        return serializer.deserialize(classificationBytes);
+    }
+}
@@ -0,0 +1,114 @@
+package ma.code212.gateway.service;
+
+import ma.code212.gateway.benchmark.BenchmarkData;
+import ma.code212.gateway.enums.Sentiment;
+import ma.code212.gateway.model.Article;
+import ma.code212.gateway.model.Comment;
+import ma.code212.gateway.model.SentimentAnalysisResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity construction before the batch inserts: comments built by
+ * CommentService.createComments and results built by the bulk writer.
+ * {@code buildResultsBigDecimal} builds the result entity as it was before the
+ * scores moved to floats (V3), as the baseline for {@code buildResults}.
+ * Run with {@code -prof gc} to compare allocation per batch
+ * ({@code gc.alloc.rate.norm}); recorded results are in benchmarks/README.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityConstructionBenchmark {
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private Article article;
+
+    private List<String> texts;
+
+    private List<Map.Entry<Comment, FastApiService.Classification>> classifications;
+
+    @Setup
+    public void setUp() {
+        article = BenchmarkData.article(BenchmarkData.user());
+        texts = BenchmarkData.commentTexts(batchSize, 42);
+
+        classifications = new ArrayList<>(batchSize);
+        for (String text : texts) {
+            classifications.add(Map.entry(BenchmarkData.comment(article, text), FastApiService.Classification.builder()
+                    .sentiment(Sentiment.NEUTRAL)
+                    .confidenceScore(0.8685f)
+                    .positiveScore(0.0512f)
+                    .negativeScore(0.0803f)
+                    .neutralScore(0.8685f)
+                    .build()));
+        }
+    }
+
+    @Benchmark
+    public List<Comment> buildComments() {
+        return CommentService.buildComments(texts, article, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<SentimentAnalysisResult> buildResults() {
+        return SentimentResultBulkWriter.buildResults("default_model", classifications, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<BigDecimalResult> buildResultsBigDecimal() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BigDecimalResult> results = new ArrayList<>(classifications.size());
+        for (Map.Entry<Comment, FastApiService.Classification> entry : classifications) {
+            FastApiService.Classification classification = entry.getValue();
+            // Scores were parsed as doubles and converted per field
+            results.add(BigDecimalResult.builder()
+                    .id(UUID.randomUUID())
+                    .comment(entry.getKey())
+                    .modelName("default_model")
+                    .sentiment(classification.getSentiment())
+                    .confidenceScore(BigDecimal.valueOf((double) classification.getConfidenceScore()))
+                    .positiveScore(BigDecimal.valueOf((double) classification.getPositiveScore()))
+                    .negativeScore(BigDecimal.valueOf((double) classification.getNegativeScore()))
+                    .neutralScore(BigDecimal.valueOf((double) classification.getNeutralScore()))
+                    .processedAt(now)
+                    .createdAt(now)
+                    .build());
+        }
+        return results;
+    }
+
+    /**
+     * SentimentAnalysisResult with NUMERIC(5,4) scores, as before V3
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class BigDecimalResult {
+        private UUID id;
+        private Comment comment;
+        private String modelName;
+        private Sentiment sentiment;
+        private BigDecimal confidenceScore;
+        private BigDecimal positiveScore;
+        private BigDecimal negativeScore;
+        private BigDecimal neutralScore;
+        private LocalDateTime processedAt;
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,49 @@
+package ma.code212.gateway.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.code212.gateway.benchmark.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of FastAPI scraping and classification responses
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FastApiResponseParserBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int comments;
+
+    private FastApiResponseParser parser;
+
+    private String scrapeResponse;
+
+    private String classificationResponse;
+
+    @Setup
+    public void setUp() {
+        parser = new FastApiResponseParser(new ObjectMapper());
+        scrapeResponse = BenchmarkData.scrapeResponse(BenchmarkData.commentTexts(comments, 42));
+        classificationResponse = BenchmarkData.classificationResponse();
+    }
+
+    @Benchmark
+    public FastApiService.ScrapedComments parseScrapedComments() {
+        return parser.parseScrapedComments(scrapeResponse);
+    }
+
+    @Benchmark
+    public FastApiService.Classification parseClassification() {
+        return parser.parseClassification(classificationResponse);
+    }
+}
@@ -0,0 +1,56 @@
+package ma.code212.gateway.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * Real PostgreSQL and Redis binaries started as local processes, without Docker.
+ * The gateway relies on PostgreSQL specifics (jsonb, ON CONFLICT, SKIP LOCKED),
+ * so an in-memory database would not be a faithful stand-in.
+ */
+public class EmbeddedDependencies implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+
+    private final RedisServer redis;
+
+    private final int redisPort;
+
+    public EmbeddedDependencies() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+
+        redisPort = freePort();
+        redis = new RedisServer(redisPort);
+        redis.start();
+    }
+
+    public String getJdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    public String getDatabaseUsername() {
+        return "postgres";
+    }
+
+    public int getRedisPort() {
+        return redisPort;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            redis.stop();
+        } finally {
+            postgres.close();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ma.code212.gateway.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and outcome counts per operation. Latencies are recorded in
+ * microseconds from the intended start time of each request, so queueing in the
+ * gateway is not hidden by the driver waiting (coordinated omission).
+ */
+public class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile long startNanos = System.nanoTime();
+
+    private volatile long endNanos;
+
+    public void record(String operation, int status, long latencyNanos) {
+        long micros = Math.min(MAX_LATENCY_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        histogram(operation).recordValue(micros);
+        histogram("all").recordValue(micros);
+        outcomes.computeIfAbsent(operation + " " + statusClass(status), key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Count a request the driver could not start because too many were in flight
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Discard everything recorded so far, e.g. at the end of the warmup
+     */
+    public void reset() {
+        histograms.values().forEach(Histogram::reset);
+        outcomes.clear();
+        dropped.reset();
+        startNanos = System.nanoTime();
+    }
+
+    public void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public void print(PrintStream out, Map<String, Long> upstreamRequests) {
+        double seconds = Math.max(1e-9, (endNanos - startNanos) / 1e9);
+
+        out.printf("%nMeasured %.1f s%n%n", seconds);
+        out.printf("%-12s %9s %9s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "mean ms");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            Histogram histogram = entry.getValue();
+            out.printf("%-12s %9d %9.1f %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    entry.getKey(),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    histogram.getMean() / 1000);
+        }
+
+        out.printf("%nOutcomes%n");
+        new TreeMap<>(outcomes).forEach((key, count) -> out.printf("  %-24s %9d%n", key, count.sum()));
+        out.printf("  %-24s %9d%n", "dropped (max in flight)", dropped.sum());
+
+        out.printf("%nStub FastAPI requests%n");
+        new TreeMap<>(upstreamRequests).forEach((path, count) -> out.printf("  %-24s %9d%n", path, count));
+    }
+
+    /**
+     * Write the summary and one HdrHistogram percentile distribution per operation,
+     * which can be plotted with the HdrHistogram plotter
+     */
+    public void write(Path directory, Map<String, Long> upstreamRequests) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+            print(summary, upstreamRequests);
+        }
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")))) {
+                // Output scaled to milliseconds
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private Histogram histogram(String operation) {
+        return histograms.computeIfAbsent(operation, key -> new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+    }
+
+    private static String statusClass(int status) {
+        return status <= 0 ? "failed" : (status / 100) + "xx";
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,249 @@
+package ma.code212.gateway.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-workload traffic generator. Requests start at a fixed rate on virtual
+ * threads and pick an operation from the configured mix:
+ * <ul>
+ *   <li>scrape: POST /api/fastapi/scrape-comments for a Zipf-distributed article URL</li>
+ *   <li>classify: POST /api/fastapi/comment-classification for a comment returned by an earlier scrape</li>
+ *   <li>poll-job: GET /api/scraping-jobs/{id} for a job created by an earlier scrape</li>
+ * </ul>
+ * Classify and poll-job fall back to a scrape until scrapes have produced IDs.
+ */
+public class LoadDriver {
+
+    private static final int RECENT_IDS = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final String gatewayUrl;
+
+    private final List<String> tokens;
+
+    private final LatencyReport report;
+
+    private final double rate;
+
+    private final int maxInFlight;
+
+    private final Duration requestTimeout;
+
+    private final String[] operations;
+
+    private final double[] operationCdf;
+
+    private final double[] urlCdf;
+
+    private final RecentIds<String> commentIds = new RecentIds<>();
+
+    // Jobs are only visible to the user who started them
+    private final RecentIds<JobRef> jobs = new RecentIds<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadDriver(LoadTestConfig config, String gatewayUrl, List<String> tokens, LatencyReport report) {
+        this.gatewayUrl = gatewayUrl;
+        this.tokens = tokens;
+        this.report = report;
+        this.rate = config.getDouble("rate");
+        this.maxInFlight = config.getInt("max-in-flight");
+        this.requestTimeout = Duration.ofSeconds(config.getLong("request-timeout"));
+
+        this.operations = new String[]{"scrape", "classify", "poll-job"};
+        this.operationCdf = cdf(new double[]{
+                config.getDouble("mix.scrape"), config.getDouble("mix.classify"), config.getDouble("mix.poll-job")});
+
+        int urls = config.getInt("urls");
+        double exponent = config.getDouble("url-zipf-exponent");
+        double[] weights = new double[urls];
+        for (int i = 0; i < urls; i++) {
+            weights[i] = 1 / Math.pow(i + 1, exponent);
+        }
+        this.urlCdf = cdf(weights);
+    }
+
+    /**
+     * Generate load for the warmup then the measured duration, then wait for the
+     * requests still in flight
+     */
+    public void run(Duration warmup, Duration duration) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        boolean measuring = false;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intended = start; intended < end; intended += intervalNanos) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!measuring && intended >= measureFrom) {
+                    report.reset();
+                    measuring = true;
+                    System.out.println("Warmup finished, measuring for " + duration.toSeconds() + " s");
+                }
+                if (inFlight.get() >= maxInFlight) {
+                    report.recordDropped();
+                    continue;
+                }
+
+                inFlight.incrementAndGet();
+                long intendedStart = intended;
+                executor.submit(() -> {
+                    try {
+                        execute(pick(operations, operationCdf), intendedStart);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+            report.finish();
+            executor.shutdown();
+            executor.awaitTermination(requestTimeout.toSeconds() + 10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void execute(String operation, long intendedStart) {
+        int user = ThreadLocalRandom.current().nextInt(tokens.size());
+        String commentId = commentIds.random();
+        JobRef job = jobs.random();
+
+        if ("classify".equals(operation) && commentId == null || "poll-job".equals(operation) && job == null) {
+            operation = "scrape";
+        }
+        if ("poll-job".equals(operation)) {
+            user = job.user();
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .timeout(requestTimeout)
+                .header("Authorization", "Bearer " + tokens.get(user))
+                .header("Content-Type", "application/json");
+
+        switch (operation) {
+            case "scrape" -> {
+                int article = pick(urlCdf);
+                request.uri(URI.create(gatewayUrl + "/api/fastapi/scrape-comments"))
+                        .POST(json(Map.of("url", articleUrl(article), "title", "Article " + article)));
+            }
+            case "classify" -> request.uri(URI.create(gatewayUrl + "/api/fastapi/comment-classification"))
+                    .POST(json(Map.of("commentId", commentId)));
+            default -> request.uri(URI.create(gatewayUrl + "/api/scraping-jobs/" + job.id())).GET();
+        }
+
+        int status = 0;
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            if ("scrape".equals(operation) && status == 200) {
+                collectIds(user, response.body());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Counted as failed below
+        }
+        report.record(operation, status, System.nanoTime() - intendedStart);
+    }
+
+    private void collectIds(int user, String body) {
+        try {
+            JsonNode response = objectMapper.readTree(body);
+            JsonNode job = response.path("scrapingJob").path("id");
+            if (!job.isMissingNode() && !job.isNull()) {
+                jobs.add(new JobRef(user, job.asText()));
+            }
+            for (JsonNode comment : response.path("comments")) {
+                commentIds.add(comment.path("id").asText());
+            }
+        } catch (Exception e) {
+            // Malformed bodies only reduce the pool of IDs
+        }
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String articleUrl(int index) {
+        return "https://www.hespress.com/politique/article-" + (100000 + index) + ".html";
+    }
+
+    private static double[] cdf(double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double[] cdf = new double[weights.length];
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i] / total;
+            cdf[i] = running;
+        }
+        return cdf;
+    }
+
+    private static int pick(double[] cdf) {
+        double value = ThreadLocalRandom.current().nextDouble();
+        for (int i = 0; i < cdf.length; i++) {
+            if (value < cdf[i]) {
+                return i;
+            }
+        }
+        return cdf.length - 1;
+    }
+
+    private static String pick(String[] values, double[] cdf) {
+        return values[pick(cdf)];
+    }
+
+    private record JobRef(int user, String id) {
+    }
+
+    /**
+     * Fixed-size ring of the most recently seen IDs
+     */
+    private static class RecentIds<T> {
+        private final AtomicReferenceArray<T> ids = new AtomicReferenceArray<>(RECENT_IDS);
+        private final AtomicLong next = new AtomicLong();
+
+        void add(T id) {
+            ids.set((int) (next.getAndIncrement() % RECENT_IDS), id);
+        }
+
+        T random() {
+            long size = Math.min(next.get(), RECENT_IDS);
+            return size == 0 ? null : ids.get(ThreadLocalRandom.current().nextInt((int) size));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ma.code212.gateway.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Load test settings from {@code loadtest.properties}, overridable with system properties
+ */
+public class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    public LoadTestConfig() {
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (defaults != null) {
+                properties.load(defaults);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read loadtest.properties", e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("loadtest."))
+                .forEach(key -> properties.setProperty(key, System.getProperty(key)));
+    }
+
+    public String getString(String key) {
+        String value = properties.getProperty("loadtest." + key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing load test setting: loadtest." + key);
+        }
+        return value.trim();
+    }
+
+    public int getInt(String key) {
+        return Integer.parseInt(getString(key));
+    }
+
+    public long getLong(String key) {
+        return Long.parseLong(getString(key));
+    }
+
+    public double getDouble(String key) {
+        return Double.parseDouble(getString(key));
+    }
+
+    public boolean getBoolean(String key) {
+        return Boolean.parseBoolean(getString(key));
+    }
+}
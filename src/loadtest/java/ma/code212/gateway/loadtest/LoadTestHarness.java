@@ -0,0 +1,86 @@
+package ma.code212.gateway.loadtest;
+
+import ma.code212.gateway.GatewayApplication;
+import ma.code212.gateway.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots the gateway against local stand-ins (stub FastAPI, local JWT issuer,
+ * embedded PostgreSQL and Redis), drives the configured traffic mix and prints
+ * throughput and latency percentiles per operation.
+ *
+ * <p>Run with {@code ./mvnw -Ploadtest test-compile exec:exec@loadtest}, settings
+ * from {@code loadtest.properties} can be overridden with {@code -Dloadtest.args="-Dloadtest.rate=200"}.
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+
+        try (EmbeddedDependencies dependencies = new EmbeddedDependencies();
+             StubFastApiServer fastApi = new StubFastApiServer(config);
+             LocalJwtIssuer issuer = new LocalJwtIssuer();
+             ConfigurableApplicationContext gateway = startGateway(config, dependencies, fastApi, issuer)) {
+
+            String gatewayUrl = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+            List<String> tokens = createUsers(config.getInt("users"), gateway.getBean(UserService.class), issuer);
+            System.out.printf("Gateway started at %s, FastAPI stub at %s, %d users%n", gatewayUrl, fastApi.getUrl(), tokens.size());
+
+            LatencyReport report = new LatencyReport();
+            new LoadDriver(config, gatewayUrl, tokens, report).run(
+                    Duration.ofSeconds(config.getLong("warmup")),
+                    Duration.ofSeconds(config.getLong("duration")));
+
+            report.print(System.out, fastApi.getRequestCounts());
+            Path reportDir = Path.of(config.getString("report-dir"));
+            report.write(reportDir, fastApi.getRequestCounts());
+            System.out.println("\nReport written to " + reportDir.toAbsolutePath());
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startGateway(LoadTestConfig config, EmbeddedDependencies dependencies,
+                                                               StubFastApiServer fastApi, LocalJwtIssuer issuer) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("DB_URL", dependencies.getJdbcUrl());
+        properties.put("DB_USERNAME", dependencies.getDatabaseUsername());
+        properties.put("DB_PASSWORD", "");
+        properties.put("REDIS_HOST", "localhost");
+        properties.put("REDIS_PORT", dependencies.getRedisPort());
+        properties.put("FASTAPI_URL", fastApi.getUrl());
+        properties.put("KEYCLOAK_URL", issuer.getUrl());
+        properties.put("KEYCLOAK_REALM", LocalJwtIssuer.REALM);
+        properties.put("KEYCLOAK_CLIENT_ID", "gateway");
+        properties.put("KEYCLOAK_CLIENT_SECRET", "loadtest");
+        properties.put("classification.auto.enabled", config.getBoolean("gateway.auto-classification"));
+        // Nothing collects spans locally
+        properties.put("management.tracing.sampling.probability", 0.0);
+
+        // Passed as command line arguments so they take precedence over application.yml
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(GatewayApplication.class).run(args);
+    }
+
+    private static List<String> createUsers(int count, UserService userService, LocalJwtIssuer issuer) {
+        List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String keycloakId = UUID.randomUUID().toString();
+            String username = "loadtest-user-" + i;
+            userService.findOrCreateByKeycloakId(keycloakId, username + "@loadtest.local", username, "Load", "Test " + i);
+            tokens.add(issuer.issueToken(keycloakId, username, List.of("USER"), Duration.ofHours(12)));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,121 @@
+package ma.code212.gateway.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Replaces Keycloak for the load test: serves the realm's OpenID discovery
+ * document and JWK set, and mints RS256 access tokens the gateway accepts
+ */
+public class LocalJwtIssuer implements AutoCloseable {
+
+    public static final String REALM = "loadtest";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final RSAKey signingKey;
+
+    private final HttpServer server;
+
+    public LocalJwtIssuer() throws IOException {
+        try {
+            signingKey = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot generate the token signing key", e);
+        }
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 128);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/realms/" + REALM + "/.well-known/openid-configuration",
+                exchange -> send(exchange, objectMapper.writeValueAsString(discoveryDocument())));
+        server.createContext("/realms/" + REALM + "/protocol/openid-connect/certs",
+                exchange -> send(exchange, new JWKSet(signingKey.toPublicJWK()).toString()));
+        server.start();
+    }
+
+    /**
+     * Base URL to use as the Keycloak server URL
+     */
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public String getIssuer() {
+        return getUrl() + "/realms/" + REALM;
+    }
+
+    /**
+     * Mint an access token for a user, valid for the given duration
+     */
+    public String issueToken(String subject, String username, List<String> roles, Duration validity) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(getIssuer())
+                .subject(subject)
+                .audience("account")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(validity)))
+                .claim("preferred_username", username)
+                .claim("email", username + "@loadtest.local")
+                .claim("realm_access", Map.of("roles", roles))
+                .build();
+        try {
+            SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+            jwt.sign(new RSASSASigner(signingKey));
+            return jwt.serialize();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot sign token for " + subject, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private Map<String, Object> discoveryDocument() {
+        String base = getIssuer() + "/protocol/openid-connect";
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("issuer", getIssuer());
+        document.put("authorization_endpoint", base + "/auth");
+        document.put("token_endpoint", base + "/token");
+        document.put("userinfo_endpoint", base + "/userinfo");
+        document.put("jwks_uri", base + "/certs");
+        document.put("response_types_supported", List.of("code"));
+        document.put("subject_types_supported", List.of("public"));
+        document.put("id_token_signing_alg_values_supported", List.of("RS256"));
+        return document;
+    }
+
+    private void send(HttpExchange exchange, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,32 @@
+package ma.code212.gateway.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Log-normal distribution defined by its median and 99th percentile, a good fit
+ * for service latencies and comment counts (most small, a long tail)
+ */
+public class LogNormal {
+
+    private static final double Z_99 = 2.3263;
+
+    private final double mu;
+
+    private final double sigma;
+
+    public LogNormal(double median, double p99) {
+        if (median <= 0 || p99 < median) {
+            throw new IllegalArgumentException("Expected 0 < median <= p99, got " + median + " and " + p99);
+        }
+        this.mu = Math.log(median);
+        this.sigma = Math.log(p99 / median) / Z_99;
+    }
+
+    public double sample() {
+        return Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+    }
+
+    public long sampleLong() {
+        return Math.round(sample());
+    }
+}
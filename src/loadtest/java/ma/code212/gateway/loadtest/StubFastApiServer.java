@@ -0,0 +1,163 @@
+package ma.code212.gateway.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stand-in for the FastAPI scraper and sentiment model. Serves
+ * {@code /scrape-comments}, {@code /comment-classification} and the {@code /docs}
+ * health path with log-normal latencies and comment counts, and fails a
+ * configurable share of calls with a 500.
+ */
+public class StubFastApiServer implements AutoCloseable {
+
+    private static final String[] WORDS = {
+            "le", "gouvernement", "doit", "agir", "rapidement", "pour", "les", "citoyens",
+            "هذا", "القرار", "مهم", "جدا", "للمغرب", "bravo", "honte", "encore", "une", "fois"
+    };
+
+    private static final String[] LABELS = {"positive", "negative", "neutral"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LogNormal scrapeLatency;
+
+    private final LogNormal scrapeComments;
+
+    private final LogNormal classifyLatency;
+
+    private final double errorRate;
+
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+
+    private final HttpServer server;
+
+    public StubFastApiServer(LoadTestConfig config) throws IOException {
+        this.scrapeLatency = new LogNormal(config.getDouble("fastapi.scrape.latency-median"), config.getDouble("fastapi.scrape.latency-p99"));
+        this.scrapeComments = new LogNormal(config.getDouble("fastapi.scrape.comments-median"), config.getDouble("fastapi.scrape.comments-p99"));
+        this.classifyLatency = new LogNormal(config.getDouble("fastapi.classify.latency-median"), config.getDouble("fastapi.classify.latency-p99"));
+        this.errorRate = config.getDouble("fastapi.error-rate");
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/scrape-comments", exchange -> handle(exchange, this::scrape));
+        server.createContext("/comment-classification", exchange -> handle(exchange, this::classify));
+        server.createContext("/docs", exchange -> handle(exchange, body -> Map.of("status", "ok")));
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Requests received per path, to compare with the gateway traffic (cache effectiveness)
+     */
+    public Map<String, Long> getRequestCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        requests.forEach((path, count) -> counts.put(path, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private Object scrape(JsonNode body) throws InterruptedException {
+        Thread.sleep(scrapeLatency.sampleLong());
+
+        int count = (int) Math.max(0, Math.min(5000, scrapeComments.sampleLong()));
+        List<String> comments = new ArrayList<>(count);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            int length = 5 + random.nextInt(60);
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < length; w++) {
+                if (w > 0) {
+                    text.append(' ');
+                }
+                text.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            comments.add(text.toString());
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("url", body.path("url").asText());
+        response.put("comments", comments);
+        response.put("total_comments", count);
+        return response;
+    }
+
+    private Object classify(JsonNode body) throws InterruptedException {
+        Thread.sleep(classifyLatency.sampleLong());
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double[] weights = {random.nextDouble(), random.nextDouble(), random.nextDouble()};
+        double sum = weights[0] + weights[1] + weights[2];
+        int best = 0;
+        List<Map<String, Object>> results = new ArrayList<>(LABELS.length);
+        for (int i = 0; i < LABELS.length; i++) {
+            if (weights[i] > weights[best]) {
+                best = i;
+            }
+            results.add(Map.of("label", LABELS[i], "score", weights[i] / sum));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("sentiment", LABELS[best]);
+        response.put("results", results);
+        return response;
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try {
+            requests.computeIfAbsent(exchange.getRequestURI().getPath(), path -> new LongAdder()).increment();
+
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            JsonNode body = requestBody.length > 0 ? objectMapper.readTree(requestBody) : objectMapper.createObjectNode();
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                send(exchange, 500, Map.of("detail", "Simulated upstream failure"));
+                return;
+            }
+            send(exchange, 200, handler.handle(body));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            send(exchange, 500, Map.of("detail", String.valueOf(e.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(JsonNode body) throws Exception;
+    }
+}
@@ -0,0 +1,27 @@
+package ma.code212.gateway.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+@Configuration
+public class FastApiWebClientConfig {
+
+    @Bean
+    public WebClient fastApiWebClient(WebClient.Builder webClientBuilder) {
+        // Same timeouts as the blocking RestTemplate
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000) // 10 seconds
+                .responseTimeout(Duration.ofSeconds(30));
+
+        // The auto-configured builder carries the observation registry for trace propagation
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
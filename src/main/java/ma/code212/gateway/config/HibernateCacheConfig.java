@@ -0,0 +1,80 @@
+package ma.code212.gateway.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import ma.code212.gateway.model.User;
+import ma.code212.gateway.repository.UserRepository;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache on Caffeine, through JCache. Only users are
+ * cached; articles are rewritten on every scrape, which would turn their cache
+ * into invalidation traffic. Every region is created here with a size bound and
+ * a TTL; the TTL bounds staleness when an invalidation from another instance is
+ * missed (see SecondLevelCacheService). The update timestamps region never
+ * evicts, as Hibernate requires.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Value("${cache.hibernate.entity.max-size:10000}")
+    private long entityMaxSize;
+
+    @Value("${cache.hibernate.entity.ttl:600}")
+    private long entityTtl;
+
+    @Value("${cache.hibernate.query.max-size:5000}")
+    private long queryMaxSize;
+
+    @Value("${cache.hibernate.query.ttl:300}")
+    private long queryTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager();
+
+        List.of(User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION)
+                .forEach(region -> cacheManager.createCache(region, regionConfiguration(entityMaxSize, entityTtl)));
+        List.of(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, UserRepository.QUERY_CACHE_REGION)
+                .forEach(region -> cacheManager.createCache(region, regionConfiguration(queryMaxSize, queryTtl)));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, regionConfiguration());
+
+        return cacheManager;
+    }
+
+    /**
+     * Hand the cache manager above to Hibernate instead of letting it create one
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = regionConfiguration();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+        return configuration;
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores immutable cache entries, copying them on every access is wasted work
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -15,8 +15,8 @@ public class KeycloakConfig {
     private String realm;
 
     @Bean
-    public WebClient keycloakWebClient() {
-        return WebClient.builder()
+    public WebClient keycloakWebClient(WebClient.Builder webClientBuilder) {
+        return webClientBuilder
                 .baseUrl(keycloakServerUrl)
                 .build();
     }
@@ -1,20 +1,67 @@
 package ma.code212.gateway.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder) {
         // Create RestTemplate with simple client factory and timeouts
         SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
         requestFactory.setConnectTimeout(10000); // 10 seconds
         requestFactory.setReadTimeout(30000);    // 30 seconds
 
-        return new RestTemplate(requestFactory);
+        // The auto-configured builder registers the observation interceptor, so calls are traced
+        // and the trace context is propagated to FastAPI
+        return restTemplateBuilder
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    /**
+     * Client for cache warming scrapes. Blocking reads cannot be interrupted, so
+     * these timeouts are what bounds a warming thread left running after its
+     * executor was shut down.
+     */
+    @Bean
+    public RestTemplate warmingRestTemplate(RestTemplateBuilder restTemplateBuilder,
+                                            @Value("${cache.warming.connect-timeout:5000}") int connectTimeoutMillis,
+                                            @Value("${cache.warming.read-timeout:30000}") int readTimeoutMillis) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMillis);
+        requestFactory.setReadTimeout(readTimeoutMillis);
+
+        return restTemplateBuilder
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    /**
+     * Client for classification attempts. The JDK client aborts a request when the
+     * calling thread is interrupted, so the losing attempt of a hedged
+     * classification can be cancelled instead of holding its thread.
+     */
+    @Bean
+    public RestTemplate classificationRestTemplate(RestTemplateBuilder restTemplateBuilder) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(30000);
+
+        return restTemplateBuilder
+                .requestFactory(() -> requestFactory)
+                .build();
     }
 }
@@ -0,0 +1,12 @@
+package ma.code212.gateway.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background tasks (cache warming, refreshes)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -32,7 +32,7 @@ public class SecurityConfig {
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 // Protected endpoints
                 .requestMatchers("/api/protected/**").authenticated()
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
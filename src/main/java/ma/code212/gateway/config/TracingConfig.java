@@ -0,0 +1,35 @@
+package ma.code212.gateway.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Tracing setup on top of Spring Boot's OpenTelemetry bridge.
+ * Spans are exported over OTLP ({@code management.otlp.tracing.endpoint}) and,
+ * when {@code tracing.export.file.enabled} is set, also appended as JSON lines
+ * to a local file for offline analysis.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Enables {@code @Observed} on controllers and cache operations
+     */
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.export.file.enabled", havingValue = "true")
+    public SpanExporter jsonFileSpanExporter(@Value("${tracing.export.file.path:traces/spans.jsonl}") String path) {
+        return new JsonFileSpanExporter(Path.of(path));
+    }
+}
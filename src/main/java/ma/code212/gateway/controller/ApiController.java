@@ -1,5 +1,6 @@
 package ma.code212.gateway.controller;
 
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -12,6 +13,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestController
+@Observed(name = "gateway.controller")
 @RequestMapping("/api")
 @Tag(name = "Gateway API", description = "Simple API endpoints for the gateway application")
 public class ApiController {
@@ -0,0 +1,91 @@
+package ma.code212.gateway.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.dto.ArticleCommentsResponse;
+import ma.code212.gateway.dto.ArticleDto;
+import ma.code212.gateway.model.Article;
+import ma.code212.gateway.service.ArticleService;
+import ma.code212.gateway.service.CommentService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@Observed(name = "gateway.controller")
+@RequestMapping("/api/articles")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Articles", description = "Scraped articles and their analyzed comments")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ArticleController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final ArticleService articleService;
+    private final CommentService commentService;
+
+    @GetMapping("/{articleId}/comments")
+    @Operation(
+        summary = "Get Article Comments With Latest Results",
+        description = "Returns a page of the article's comments, each with its latest sentiment result for the given model",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Comments retrieved successfully",
+                content = @Content(schema = @Schema(implementation = ArticleCommentsResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Article not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+        }
+    )
+    public ResponseEntity<ArticleCommentsResponse> getArticleComments(
+            @PathVariable UUID articleId,
+            @RequestParam(defaultValue = "default_model") String modelName,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+
+        Optional<Article> articleOpt = articleService.findById(articleId);
+        if (articleOpt.isEmpty()) {
+            ArticleCommentsResponse errorResponse = ArticleCommentsResponse.builder()
+                    .status("error")
+                    .message("Article not found with ID: " + articleId)
+                    .timestamp(LocalDateTime.now().toString())
+                    .build();
+            return ResponseEntity.status(404).body(errorResponse);
+        }
+
+        Article article = articleOpt.get();
+        int pageNumber = Math.max(0, page);
+        int pageSize = Math.min(MAX_PAGE_SIZE, Math.max(1, size));
+
+        ArticleDto articleDto = ArticleDto.builder()
+                .id(article.getId())
+                .title(article.getTitle())
+                .url(article.getUrl())
+                .totalComments(article.getTotalComments())
+                .scrapedAt(article.getScrapedAt())
+                .build();
+
+        ArticleCommentsResponse response = ArticleCommentsResponse.builder()
+                .status("success")
+                .message("Article comments retrieved successfully")
+                .article(articleDto)
+                .modelName(modelName)
+                .page(pageNumber)
+                .size(pageSize)
+                .totalComments(commentService.countByArticleId(articleId))
+                .comments(commentService.findCommentsWithLatestResult(articleId, modelName, pageNumber, pageSize))
+                .timestamp(LocalDateTime.now().toString())
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,81 @@
+package ma.code212.gateway.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.service.CommentService;
+import ma.code212.gateway.service.ReactiveClassificationPipeline;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@Observed(name = "gateway.controller")
+@RequestMapping("/api/admin/classification")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Classification Administration", description = "Control of the background classification pipeline")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ClassificationAdminController {
+
+    private final ReactiveClassificationPipeline reactivePipeline;
+    private final CommentService commentService;
+
+    @PostMapping("/drain")
+    @Operation(summary = "Drain classification backlog", description = "Start classifying all unprocessed comments with the reactive pipeline")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Drain started"),
+        @ApiResponse(responseCode = "409", description = "A drain is already running on this instance"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> drainBacklog() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now().toString());
+
+        if (reactivePipeline.isDraining()) {
+            response.put("status", "error");
+            response.put("message", "A classification drain is already running");
+            return ResponseEntity.status(409).body(response);
+        }
+
+        long backlog = commentService.countUnprocessed();
+        log.info("Starting classification drain for {} unprocessed comments", backlog);
+        reactivePipeline.drain().subscribe(
+                result -> { },
+                e -> log.error("Classification drain failed, Error: {}", e.getMessage(), e));
+
+        response.put("status", "success");
+        response.put("message", "Classification drain started");
+        response.put("backlog", backlog);
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/status")
+    @Operation(summary = "Classification pipeline status", description = "Backlog size, comments given up on after repeated failures and outcome of the last reactive drain")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("backlog", commentService.countUnprocessed());
+        response.put("abandoned", commentService.countAbandoned());
+        response.put("draining", reactivePipeline.isDraining());
+        response.put("lastDrain", reactivePipeline.getLastResult());
+        response.put("timestamp", LocalDateTime.now().toString());
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,47 +1,50 @@
 package ma.code212.gateway.controller;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ma.code212.gateway.dto.*;
 import ma.code212.gateway.enums.Sentiment;
+import ma.code212.gateway.exception.UpstreamUnavailableException;
 import ma.code212.gateway.model.Article;
 import ma.code212.gateway.model.Comment;
 import ma.code212.gateway.model.ScrapingJob;
 import ma.code212.gateway.model.SentimentAnalysisResult;
 import ma.code212.gateway.model.User;
 import ma.code212.gateway.service.ArticleService;
+import ma.code212.gateway.service.BulkScrapeService;
+import ma.code212.gateway.service.ClassificationCacheService;
 import ma.code212.gateway.service.CommentService;
+import ma.code212.gateway.service.FastApiService;
 import ma.code212.gateway.service.ScrapingJobService;
 import ma.code212.gateway.service.ScrapingCacheService;
 import ma.code212.gateway.service.SentimentAnalysisResultService;
 import ma.code212.gateway.service.UserService;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JsonNode;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 @RestController
+@Observed(name = "gateway.controller")
 @RequestMapping("/api/fastapi")
 @RequiredArgsConstructor
 @Slf4j
@@ -49,39 +52,45 @@ import java.util.Optional;
 @SecurityRequirement(name = "Bearer Authentication")
 public class FastApiProxyController {
 
-    private final RestTemplate restTemplate;
+    private final FastApiService fastApiService;
     private final ArticleService articleService;
     private final CommentService commentService;
     private final SentimentAnalysisResultService sentimentAnalysisResultService;
     private final UserService userService;
     private final ScrapingJobService scrapingJobService;
     private final ScrapingCacheService scrapingCacheService;
-    private final ObjectMapper objectMapper;
+    private final BulkScrapeService bulkScrapeService;
+    private final ClassificationCacheService classificationCacheService;
+    private final DtoMapper dtoMapper;
+    private final MeterRegistry meterRegistry;
 
-    @Value("${external.fastapi.url}")
-    private String fastApiUrl;
+    @Value("${external.fastapi.classification.default-model:default_model}")
+    private String defaultModelName;
 
-    // DTO classes for request/response
-    public static class UrlInput {
-        public String url;
-        
-        public UrlInput() {}
-        
-        public UrlInput(String url) {
-            this.url = url;
-        }
+    private Timer articleMappingTimer;
+
+    private Timer commentMappingTimer;
+
+    private Timer sentimentAnalysisResultMappingTimer;
+
+    private Timer scrapingJobMappingTimer;
+
+    @PostConstruct
+    void initMetrics() {
+        articleMappingTimer = mappingTimer("article");
+        commentMappingTimer = mappingTimer("comment");
+        sentimentAnalysisResultMappingTimer = mappingTimer("sentiment_analysis_result");
+        scrapingJobMappingTimer = mappingTimer("scraping_job");
     }
-    
-    public static class CommentInput {
-        public String comment;
-        
-        public CommentInput() {}
-        
-        public CommentInput(String comment) {
-            this.comment = comment;
-        }
+
+    private Timer mappingTimer(String dto) {
+        return Timer.builder("api.dto.mapping")
+                .description("Time spent mapping entities to response DTOs")
+                .tag("dto", dto)
+                .register(meterRegistry);
     }
-    
+
+    // DTO classes for request/response
     public static class CommentResponse {
         public List<String> comments;
         public int total_comments;
@@ -101,7 +110,8 @@ public class FastApiProxyController {
             @ApiResponse(responseCode = "200", description = "Comments scraped successfully",
                 content = @Content(schema = @Schema(implementation = ScrapeCommentsResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
-            @ApiResponse(responseCode = "500", description = "Internal server error")
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "FastAPI scraper unavailable and nothing cached")
         }
     )
     public ResponseEntity<ScrapeCommentsResponse> scrapeComments(
@@ -129,19 +139,19 @@ public class FastApiProxyController {
                 "timeout", 30000
             );
             
-            // Create scraping job
-            ScrapingJob scrapingJob = scrapingJobService.createScrapingJob(user, request.getUrl(), jobConfiguration);
-            
-            // Start the scraping job
-            scrapingJob = scrapingJobService.startScrapingJob(scrapingJob.getId());
-            
             // Find or create article
             Article article = articleService.findOrCreateArticle(request.getUrl(), request.getTitle(), user);
             
+            // Check cache first, stale entries are served while a background refresh runs
+            ScrapingCacheService.ScrapedCommentsCache cachedComments = scrapingCacheService.getCachedCommentsWithRevalidation(
+                    request.getUrl(), () -> fastApiService.scrapeComments(request.getUrl()));
+            
+            // Only cache misses run a job; it is created directly in RUNNING state
+            ScrapingJob scrapingJob = cachedComments == null
+                    ? scrapingJobService.startScrapingJob(user, request.getUrl(), jobConfiguration)
+                    : null;
+            
             try {
-                // Check cache first
-                ScrapingCacheService.ScrapedCommentsCache cachedComments = scrapingCacheService.getCachedComments(request.getUrl());
-                
                 List<String> commentTexts;
                 int totalComments;
                 
@@ -153,38 +163,16 @@ public class FastApiProxyController {
                     commentTexts = cachedComments.getComments();
                     totalComments = cachedComments.getTotalComments();
                     
-                    // Update scraping job to indicate cache was used
-                    scrapingJob = scrapingJobService.completeScrapingJob(
-                        scrapingJob.getId(), 
-                        1, // pages scraped (from cache)
-                        commentTexts.size() // comments found
-                    );
-                    
                 } else {
                     // Cache miss - call FastAPI to scrape comments
                     log.info("Cache miss for URL: {} - Calling FastAPI to scrape comments", request.getUrl());
                     
-                    UrlInput urlInput = new UrlInput(request.getUrl());
-                    ResponseEntity<String> fastApiResponse = proxyToFastApiForScraping("/scrape-comments", urlInput, HttpMethod.POST);
-                    
-                    // Parse FastAPI response
-                    JsonNode responseJson = objectMapper.readTree(fastApiResponse.getBody());
-                    JsonNode commentsArray = responseJson.get("comments");
-                    totalComments = responseJson.get("total_comments").asInt();
-                    
-                    // Create comment entities
-                    commentTexts = objectMapper.convertValue(commentsArray, 
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
+                    FastApiService.ScrapedComments scraped = fastApiService.scrapeComments(request.getUrl());
+                    commentTexts = scraped.getComments();
+                    totalComments = scraped.getTotalComments();
                     
                     // Cache the scraped comments
                     scrapingCacheService.cacheScrapedComments(request.getUrl(), commentTexts, totalComments);
-                    
-                    // Complete the scraping job successfully
-                    scrapingJob = scrapingJobService.completeScrapingJob(
-                        scrapingJob.getId(), 
-                        1, // pages scraped
-                        commentTexts.size() // comments found
-                    );
                 }
                 
                 // Create comment entities from the comment texts (either cached or freshly scraped)
@@ -193,16 +181,31 @@ public class FastApiProxyController {
                 // Update article total comments
                 articleService.updateTotalComments(article.getId(), totalComments);
                 
+                if (scrapingJob != null) {
+                    // Complete the scraping job once its comments are saved; a job cancelled
+                    // meanwhile is returned as it is
+                    scrapingJob = scrapingJobService.completeScrapingJob(
+                        scrapingJob, 
+                        1, // pages scraped
+                        commentTexts.size() // comments found
+                    );
+                } else {
+                    // Cache hit, stored as an already completed job or only counted
+                    scrapingJob = scrapingJobService.recordCachedScrapingJob(
+                        user, request.getUrl(), jobConfiguration, 1, commentTexts.size()).orElse(null);
+                }
+                
                 // Build response DTOs
                 ArticleDto articleDto = buildArticleDto(article, user);
                 List<CommentDto> commentDtos = savedComments.stream()
                         .map(this::buildCommentDto)
                         .toList();
-                ScrapingJobDto scrapingJobDto = buildScrapingJobDto(scrapingJob, user);
+                ScrapingJobDto scrapingJobDto = scrapingJob != null ? buildScrapingJobDto(scrapingJob, user) : null;
                 
                 // Check if data was from cache
                 boolean fromCache = cachedComments != null;
-                String cacheStatus = fromCache ? "from cache" : "freshly scraped";
+                boolean stale = fromCache && scrapingCacheService.isStale(cachedComments);
+                String cacheStatus = !fromCache ? "freshly scraped" : stale ? "from stale cache" : "from cache";
                 
                 ScrapeCommentsResponse response = ScrapeCommentsResponse.builder()
                         .status("success")
@@ -211,20 +214,36 @@ public class FastApiProxyController {
                         .comments(commentDtos)
                         .totalComments(totalComments)
                         .scrapingJob(scrapingJobDto)
+                        .fromCache(fromCache)
+                        .stale(stale)
+                        .cacheAgeSeconds(fromCache ? scrapingCacheService.getAgeSeconds(cachedComments) : 0L)
                         .timestamp(LocalDateTime.now().toString())
                         .build();
                 
                 log.info("Successfully processed {} comments for article ID: {}, job ID: {} ({})", 
-                    savedComments.size(), article.getId(), scrapingJob.getId(), cacheStatus);
+                    savedComments.size(), article.getId(), scrapingJobDto != null ? scrapingJobDto.getId() : null, cacheStatus);
                 
                 return ResponseEntity.ok(response);
                 
             } catch (Exception scrapingException) {
-                // Fail the scraping job on error
-                scrapingJob = scrapingJobService.failScrapingJob(scrapingJob.getId(), scrapingException.getMessage());
+                // Fail the scraping job on error, unless it was cancelled or finished meanwhile
+                if (scrapingJob != null) {
+                    scrapingJobService.failScrapingJob(scrapingJob, scrapingException.getMessage());
+                }
                 throw scrapingException;
             }
             
+        } catch (UpstreamUnavailableException e) {
+            log.warn("Scraping rejected, FastAPI unavailable: {}", e.getMessage());
+            
+            ScrapeCommentsResponse errorResponse = ScrapeCommentsResponse.builder()
+                    .status("error")
+                    .message("Failed to scrape comments: " + e.getMessage())
+                    .timestamp(LocalDateTime.now().toString())
+                    .build();
+            
+            return ResponseEntity.status(503).body(errorResponse);
+            
         } catch (Exception e) {
             log.error("Error scraping comments: {}", e.getMessage(), e);
             
@@ -238,6 +257,80 @@ public class FastApiProxyController {
         }
     }
 
+    @PostMapping("/scrape-comments/bulk")
+    @Operation(
+        summary = "Bulk Scrape Comments", 
+        description = "Scrapes comments for a list of articles, resolving cache hits in one batch and fanning out cache misses "
+                + "to FastAPI with bounded concurrency. With async=true the batch runs in the background and a batch ID is returned",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Bulk scrape processed",
+                content = @Content(schema = @Schema(implementation = BulkScrapeResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Bulk scrape accepted for background processing"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+        }
+    )
+    public ResponseEntity<BulkScrapeResponse> bulkScrapeComments(
+            @Valid @RequestBody BulkScrapeRequest request,
+            Authentication authentication) {
+        
+        try {
+            log.info("Bulk scraping {} articles (async: {})", request.getItems().size(), request.isAsync());
+            
+            // Extract user from JWT token
+            Jwt jwt = (Jwt) authentication.getPrincipal();
+            User user = userService.findByKeycloakId(jwt.getSubject())
+                    .orElseThrow(() -> new RuntimeException("User not found in database"));
+            
+            if (request.isAsync()) {
+                return ResponseEntity.accepted().body(bulkScrapeService.submit(user, request.getItems()));
+            }
+            return ResponseEntity.ok(bulkScrapeService.scrape(user, request.getItems()));
+            
+        } catch (Exception e) {
+            log.error("Error bulk scraping comments: {}", e.getMessage(), e);
+            
+            BulkScrapeResponse errorResponse = BulkScrapeResponse.builder()
+                    .status("error")
+                    .message("Failed to bulk scrape comments: " + e.getMessage())
+                    .timestamp(LocalDateTime.now().toString())
+                    .build();
+            
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+    }
+
+    @GetMapping("/scrape-comments/bulk/{batchId}")
+    @Operation(
+        summary = "Get Bulk Scrape Status", 
+        description = "Returns the progress or per-URL summary of an asynchronous bulk scrape",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Batch status retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Batch not found or expired"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+        }
+    )
+    public ResponseEntity<BulkScrapeResponse> getBulkScrapeStatus(
+            @PathVariable UUID batchId,
+            Authentication authentication) {
+        
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        Optional<User> userOpt = userService.findByKeycloakId(jwt.getSubject());
+        Optional<BulkScrapeResponse> batch = bulkScrapeService.findBatch(batchId);
+        
+        if (userOpt.isEmpty() || batch.isEmpty() || !userOpt.get().getId().equals(batch.get().getUserId())) {
+            BulkScrapeResponse errorResponse = BulkScrapeResponse.builder()
+                    .status("error")
+                    .message("Bulk scrape batch not found with ID: " + batchId)
+                    .batchId(batchId)
+                    .timestamp(LocalDateTime.now().toString())
+                    .build();
+            return ResponseEntity.status(404).body(errorResponse);
+        }
+        
+        return ResponseEntity.ok(batch.get());
+    }
+
     @PostMapping("/comment-classification")
     @Operation(
         summary = "Comment Classification", 
@@ -246,7 +339,8 @@ public class FastApiProxyController {
             @ApiResponse(responseCode = "200", description = "Sentiment analysis completed successfully",
                 content = @Content(schema = @Schema(implementation = CommentClassificationResponse.class))),
             @ApiResponse(responseCode = "404", description = "Comment not found"),
-            @ApiResponse(responseCode = "500", description = "Internal server error")
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "FastAPI model unavailable")
         }
     )
     public ResponseEntity<CommentClassificationResponse> classifyComment(
@@ -267,72 +361,36 @@ public class FastApiProxyController {
             }
             
             Comment comment = commentOpt.get();
+            String modelName = request.getModelName() != null ? request.getModelName() : defaultModelName;
             
-            // Prepare FastAPI request
-            CommentInput commentInput = new CommentInput(comment.getContent());
-            
-            // Call FastAPI for sentiment analysis
-            ResponseEntity<Object> fastApiResponse = proxyToFastApi("/comment-classification", commentInput, HttpMethod.POST);
-            
-            // Parse FastAPI response
-            Object responseBody = fastApiResponse.getBody();
-            if (responseBody == null) {
-                throw new RuntimeException("Empty response from FastAPI");
-            }
-            JsonNode responseJson = objectMapper.readTree(responseBody.toString());
-            
-            // Extract sentiment analysis data from FastAPI response
-            String sentimentStr = responseJson.get("sentiment").asText();
-            
-            // Parse scores from results array
-            JsonNode resultsArray = responseJson.get("results");
-            double confidenceScore = 0.0;
-            double positiveScore = 0.0;
-            double negativeScore = 0.0;
-            double neutralScore = 0.0;
-            
-            // Extract scores from results array
-            if (resultsArray != null && resultsArray.isArray()) {
-                for (JsonNode result : resultsArray) {
-                    String label = result.get("label").asText().toLowerCase();
-                    double score = result.get("score").asDouble();
-                    
-                    switch (label) {
-                        case "positive":
-                            positiveScore = score;
-                            break;
-                        case "negative":
-                            negativeScore = score;
-                            break;
-                        case "neutral":
-                            neutralScore = score;
-                            break;
-                    }
-                    
-                    // Use the score of the predicted sentiment as confidence score
-                    if (label.equalsIgnoreCase(sentimentStr)) {
-                        confidenceScore = score;
-                    }
-                }
+            // Reuse an existing result for this comment and model
+            Optional<SentimentAnalysisResult> existingResult = sentimentAnalysisResultService
+                    .findLatestByCommentIdAndModelName(comment.getId(), modelName);
+            if (existingResult.isPresent()) {
+                CommentClassificationResponse response = CommentClassificationResponse.builder()
+                        .status("success")
+                        .message("Comment already analyzed with model " + modelName)
+                        .comment(buildCommentDto(comment))
+                        .sentimentAnalysisResult(buildSentimentAnalysisResultDto(existingResult.get()))
+                        .timestamp(LocalDateTime.now().toString())
+                        .build();
+                return ResponseEntity.ok(response);
             }
             
-            // Convert string sentiment to enum
-            Sentiment sentiment = Sentiment.valueOf(sentimentStr.toUpperCase());
-            
-            // Create SentimentAnalysisResult
-            String modelName = request.getModelName() != null ? request.getModelName() : "default_model";
-            SentimentAnalysisResult result = sentimentAnalysisResultService.createSentimentAnalysisResult(
-                    comment,
-                    modelName,
-                    sentiment,
-                    BigDecimal.valueOf(confidenceScore),
-                    BigDecimal.valueOf(positiveScore),
-                    BigDecimal.valueOf(negativeScore),
-                    BigDecimal.valueOf(neutralScore)
-            );
+            // Call FastAPI for sentiment analysis unless the same content was already classified
+            FastApiService.Classification classification = classificationCacheService.getOrClassify(
+                    comment.getContent(), modelName, () -> fastApiService.classify(comment.getContent(), modelName));
+            Sentiment sentiment = classification.getSentiment();
             
-            // Update comment with sentiment data
-            commentService.updateCommentSentiment(comment.getId(), sentiment, confidenceScore);
+            // Store the result and update the comment in one transaction
+            SentimentAnalysisResult result = sentimentAnalysisResultService.createSentimentAnalysisResults(
+                    modelName, List.of(Map.entry(comment, classification))).get(0);
+            
+            // The bulk writer updates the row with JDBC, mirror it on the loaded comment
+            comment.setSentiment(sentiment);
+            comment.setConfidenceScore(classification.getConfidenceScore());
+            comment.setIsProcessed(true);
+            comment.setClaimedAt(null);
             
             // Build response DTOs
             CommentDto commentDto = buildCommentDto(comment);
@@ -351,6 +409,17 @@ public class FastApiProxyController {
             
             return ResponseEntity.ok(response);
             
+        } catch (UpstreamUnavailableException e) {
+            log.warn("Classification rejected, FastAPI unavailable: {}", e.getMessage());
+            
+            CommentClassificationResponse errorResponse = CommentClassificationResponse.builder()
+                    .status("error")
+                    .message("Failed to analyze comment sentiment: " + e.getMessage())
+                    .timestamp(LocalDateTime.now().toString())
+                    .build();
+            
+            return ResponseEntity.status(503).body(errorResponse);
+            
         } catch (Exception e) {
             log.error("Error analyzing comment sentiment: {}", e.getMessage(), e);
             
@@ -421,25 +490,10 @@ public class FastApiProxyController {
         try {
             log.info("Checking cache status for URL: {}", url);
             
-            boolean isCached = scrapingCacheService.isCached(url);
-            long remainingTtl = scrapingCacheService.getRemainingTtl(url);
-            
-            Map<String, Object> response = new HashMap<>();
+            Map<String, Object> response = buildCacheStatusEntries(List.of(url)).get(0);
             response.put("status", "success");
-            response.put("url", url);
-            response.put("isCached", isCached);
-            response.put("remainingTtlSeconds", remainingTtl);
             response.put("timestamp", LocalDateTime.now().toString());
             
-            if (isCached) {
-                ScrapingCacheService.ScrapedCommentsCache cachedData = scrapingCacheService.getCachedComments(url);
-                if (cachedData != null) {
-                    response.put("cachedCommentsCount", cachedData.getComments().size());
-                    response.put("totalComments", cachedData.getTotalComments());
-                    response.put("cacheTimestamp", cachedData.getTimestamp());
-                }
-            }
-            
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
@@ -455,148 +509,88 @@ public class FastApiProxyController {
         }
     }
 
-    private ResponseEntity<String> proxyToFastApiForScraping(String endpoint, Object body, HttpMethod httpMethod) {
+    @PostMapping("/cache/status")
+    @Operation(
+        summary = "Check Cache Status for Multiple URLs", 
+        description = "Returns cache information for a list of URLs using batched Redis lookups",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Cache statuses retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid URL list provided"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+        }
+    )
+    public ResponseEntity<Map<String, Object>> getCacheStatusBatch(
+            @Valid @RequestBody CacheStatusBatchRequest request,
+            Authentication authentication) {
+        
         try {
-            // Build the target URL
-            String targetUrl = fastApiUrl + endpoint;
+            log.info("Checking cache status for {} URLs", request.getUrls().size());
             
-            log.info("Proxying {} to FastAPI: {}", httpMethod, targetUrl);
+            List<Map<String, Object>> entries = buildCacheStatusEntries(request.getUrls());
+            long cachedCount = entries.stream().filter(entry -> Boolean.TRUE.equals(entry.get("isCached"))).count();
             
-            // Create headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Content-Type", "application/json");
-            headers.add("Accept", "application/json");
-            
-            // Create the request entity
-            HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("entries", entries);
+            response.put("totalUrls", entries.size());
+            response.put("cachedUrls", cachedCount);
+            response.put("timestamp", LocalDateTime.now().toString());
             
-            // Forward the request to FastAPI
-            ResponseEntity<String> response = restTemplate.exchange(
-                targetUrl,
-                httpMethod,
-                requestEntity,
-                String.class
-            );
+            return ResponseEntity.ok(response);
             
-            log.info("FastAPI responded with status: {}", response.getStatusCode());
+        } catch (Exception e) {
+            log.error("Error checking cache status for {} URLs, Error: {}", request.getUrls().size(), e.getMessage(), e);
             
-            return response;
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", "Failed to check cache status: " + e.getMessage());
+            errorResponse.put("timestamp", LocalDateTime.now().toString());
             
-        } catch (Exception e) {
-            log.error("Error proxying request to FastAPI: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to proxy request to FastAPI: " + e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(errorResponse);
         }
     }
 
-    private ArticleDto buildArticleDto(Article article, User user) {
-        UserDto userDto = UserDto.builder()
-                .id(user.getId())
-                .keycloakId(user.getKeycloakId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .build();
+    /**
+     * Build cache status entries with one MGET and one pipelined TTL round trip
+     */
+    private List<Map<String, Object>> buildCacheStatusEntries(List<String> urls) {
+        Map<String, ScrapingCacheService.ScrapedCommentsCache> cachedData = scrapingCacheService.getCachedCommentsBatch(urls);
+        Map<String, Long> remainingTtls = scrapingCacheService.getRemainingTtlBatch(urls);
         
-        return ArticleDto.builder()
-                .id(article.getId())
-                .title(article.getTitle())
-                .url(article.getUrl())
-                .totalComments(article.getTotalComments())
-                .scrapedAt(article.getScrapedAt())
-                .user(userDto)
-                .build();
+        return urls.stream()
+                .map(url -> {
+                    ScrapingCacheService.ScrapedCommentsCache cached = cachedData.get(url);
+                    
+                    Map<String, Object> entry = new HashMap<>();
+                    entry.put("url", url);
+                    entry.put("isCached", cached != null);
+                    entry.put("remainingTtlSeconds", remainingTtls.get(url));
+                    
+                    if (cached != null) {
+                        entry.put("cachedCommentsCount", cached.getComments().size());
+                        entry.put("totalComments", cached.getTotalComments());
+                        entry.put("cacheTimestamp", cached.getTimestamp());
+                        entry.put("cacheAgeSeconds", scrapingCacheService.getAgeSeconds(cached));
+                        entry.put("stale", scrapingCacheService.isStale(cached));
+                    }
+                    return entry;
+                })
+                .toList();
+    }
+
+    private ArticleDto buildArticleDto(Article article, User user) {
+        return articleMappingTimer.record(() -> dtoMapper.toArticleDto(article, user));
     }
 
     private CommentDto buildCommentDto(Comment comment) {
-        return CommentDto.builder()
-                .id(comment.getId())
-                .content(comment.getContent())
-                .author(comment.getAuthor())
-                .url(comment.getUrl())
-                .publishDate(comment.getPublishDate())
-                .scrapedAt(comment.getScrapedAt())
-                .sentiment(comment.getSentiment())
-                .confidenceScore(comment.getConfidenceScore())
-                .isProcessed(comment.getIsProcessed())
-                .createdAt(comment.getCreatedAt())
-                .updatedAt(comment.getUpdatedAt())
-                .build();
+        return commentMappingTimer.record(() -> dtoMapper.toCommentDto(comment));
     }
 
     private SentimentAnalysisResultDto buildSentimentAnalysisResultDto(SentimentAnalysisResult result) {
-        return SentimentAnalysisResultDto.builder()
-                .id(result.getId())
-                .modelName(result.getModelName())
-                .sentiment(result.getSentiment())
-                .confidenceScore(result.getConfidenceScore())
-                .positiveScore(result.getPositiveScore())
-                .negativeScore(result.getNegativeScore())
-                .neutralScore(result.getNeutralScore())
-                .processedAt(result.getProcessedAt())
-                .createdAt(result.getCreatedAt())
-                .build();
+        return sentimentAnalysisResultMappingTimer.record(() -> dtoMapper.toSentimentAnalysisResultDto(result));
     }
 
     private ScrapingJobDto buildScrapingJobDto(ScrapingJob scrapingJob, User user) {
-        UserDto userDto = UserDto.builder()
-                .id(user.getId())
-                .keycloakId(user.getKeycloakId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .build();
-        
-        return ScrapingJobDto.builder()
-                .id(scrapingJob.getId())
-                .user(userDto)
-                .status(scrapingJob.getStatus())
-                .startTime(scrapingJob.getStartTime())
-                .endTime(scrapingJob.getEndTime())
-                .targetUrl(scrapingJob.getTargetUrl())
-                .pagesScraped(scrapingJob.getPagesScraped())
-                .commentsFound(scrapingJob.getCommentsFound())
-                .errors(scrapingJob.getErrors())
-                .configuration(scrapingJob.getConfiguration())
-                .createdAt(scrapingJob.getCreatedAt())
-                .updatedAt(scrapingJob.getUpdatedAt())
-                .build();
-    }
-
-    private ResponseEntity<Object> proxyToFastApi(String endpoint, Object body, HttpMethod httpMethod) {
-        try {
-            // Build the target URL
-            String targetUrl = fastApiUrl + endpoint;
-            
-            log.info("Proxying {} to FastAPI: {}", httpMethod, targetUrl);
-            
-            // Create headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Content-Type", "application/json");
-            headers.add("Accept", "application/json");
-            
-            // Create the request entity
-            HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
-            
-            // Forward the request to FastAPI
-            ResponseEntity<String> response = restTemplate.exchange(
-                targetUrl,
-                httpMethod,
-                requestEntity,
-                String.class
-            );
-            
-            log.info("FastAPI responded with status: {}", response.getStatusCode());
-            
-            // Return the response with the original headers and body as String
-            return ResponseEntity.status(response.getStatusCode())
-                    .headers(response.getHeaders())
-                    .body(response.getBody());
-            
-        } catch (Exception e) {
-            log.error("Error proxying request to FastAPI: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to proxy request to FastAPI: " + e.getMessage(), e);
-        }
+        return scrapingJobMappingTimer.record(() -> dtoMapper.toScrapingJobDto(scrapingJob, user));
     }
 }
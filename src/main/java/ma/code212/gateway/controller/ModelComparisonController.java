@@ -0,0 +1,129 @@
+package ma.code212.gateway.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.dto.ModelComparisonRequest;
+import ma.code212.gateway.dto.ModelComparisonResponse;
+import ma.code212.gateway.model.ModelComparisonRun;
+import ma.code212.gateway.model.User;
+import ma.code212.gateway.service.ModelComparisonService;
+import ma.code212.gateway.service.UserService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@Observed(name = "gateway.controller")
+@RequestMapping("/api/model-comparisons")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Model Comparison", description = "Compare sentiment models over stored comments")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ModelComparisonController {
+
+    private final ModelComparisonService modelComparisonService;
+    private final UserService userService;
+
+    @PostMapping
+    @Operation(
+        summary = "Start Model Comparison",
+        description = "Runs two or more models over an article's comments or the comments created in a date range, "
+                + "in the background. The first model is the baseline for agreement rates and confusion matrices",
+        responses = {
+            @ApiResponse(responseCode = "202", description = "Comparison run accepted",
+                content = @Content(schema = @Schema(implementation = ModelComparisonResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid models or comment selection"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+        }
+    )
+    public ResponseEntity<ModelComparisonResponse> startComparison(
+            @Valid @RequestBody ModelComparisonRequest request,
+            Authentication authentication) {
+
+        try {
+            Jwt jwt = (Jwt) authentication.getPrincipal();
+            User user = userService.findByKeycloakId(jwt.getSubject())
+                    .orElseThrow(() -> new RuntimeException("User not found in database"));
+
+            ModelComparisonRun run = modelComparisonService.submit(user, request);
+            return ResponseEntity.accepted().body(modelComparisonService.toResponse(run));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(errorResponse(e.getMessage(), null));
+
+        } catch (Exception e) {
+            log.error("Error starting model comparison: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(errorResponse("Failed to start model comparison: " + e.getMessage(), null));
+        }
+    }
+
+    @GetMapping
+    @Operation(
+        summary = "Get User's Model Comparisons",
+        description = "Lists the authenticated user's comparison runs, most recent first",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Comparison runs retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+        }
+    )
+    public ResponseEntity<List<ModelComparisonResponse>> getUserComparisons(Authentication authentication) {
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        Optional<User> userOpt = userService.findByKeycloakId(jwt.getSubject());
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+
+        return ResponseEntity.ok(modelComparisonService.findByUserId(userOpt.get().getId()).stream()
+                .map(modelComparisonService::toResponse)
+                .toList());
+    }
+
+    @GetMapping("/{runId}")
+    @Operation(
+        summary = "Get Model Comparison",
+        description = "Returns the progress of a comparison run, and its report once completed",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Comparison run retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Comparison run not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+        }
+    )
+    public ResponseEntity<ModelComparisonResponse> getComparison(
+            @PathVariable UUID runId,
+            Authentication authentication) {
+
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        Optional<User> userOpt = userService.findByKeycloakId(jwt.getSubject());
+        Optional<ModelComparisonRun> runOpt = modelComparisonService.findById(runId);
+
+        if (userOpt.isEmpty() || runOpt.isEmpty() || !userOpt.get().getId().equals(runOpt.get().getUser().getId())) {
+            return ResponseEntity.status(404).body(errorResponse("Model comparison run not found with ID: " + runId, runId));
+        }
+
+        return ResponseEntity.ok(modelComparisonService.toResponse(runOpt.get()));
+    }
+
+    private ModelComparisonResponse errorResponse(String message, UUID runId) {
+        return ModelComparisonResponse.builder()
+                .status("error")
+                .message(message)
+                .runId(runId)
+                .timestamp(LocalDateTime.now().toString())
+                .build();
+    }
+}
@@ -6,13 +6,17 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.dto.DtoMapper;
 import ma.code212.gateway.dto.ScrapingJobDto;
+import ma.code212.gateway.dto.ScrapingJobListResponse;
+import ma.code212.gateway.dto.ScrapingJobResponse;
+import ma.code212.gateway.dto.ScrapingJobSummaryDto;
 import ma.code212.gateway.dto.UserDto;
 import ma.code212.gateway.enums.JobStatus;
 import ma.code212.gateway.model.ScrapingJob;
-import ma.code212.gateway.model.User;
 import ma.code212.gateway.service.ScrapingJobService;
 import ma.code212.gateway.service.UserService;
 import org.springframework.http.ResponseEntity;
@@ -21,13 +25,12 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @RestController
+@Observed(name = "gateway.controller")
 @RequestMapping("/api/scraping-jobs")
 @RequiredArgsConstructor
 @Slf4j
@@ -37,17 +40,20 @@ public class ScrapingJobController {
 
     private final ScrapingJobService scrapingJobService;
     private final UserService userService;
+    private final DtoMapper dtoMapper;
 
     @GetMapping
     @Operation(
         summary = "Get User's Scraping Jobs", 
-        description = "Retrieves all scraping jobs for the authenticated user",
+        description = "Retrieves all scraping jobs for the authenticated user, most recent first. "
+                + "Job configuration and errors are only returned by the job detail endpoint",
         responses = {
-            @ApiResponse(responseCode = "200", description = "Scraping jobs retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Scraping jobs retrieved successfully",
+                content = @Content(schema = @Schema(implementation = ScrapingJobListResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
         }
     )
-    public ResponseEntity<Map<String, Object>> getUserScrapingJobs(
+    public ResponseEntity<ScrapingJobListResponse> getUserScrapingJobs(
             @RequestParam(required = false) JobStatus status,
             Authentication authentication) {
         
@@ -56,48 +62,45 @@ public class ScrapingJobController {
             Jwt jwt = (Jwt) authentication.getPrincipal();
             String keycloakId = jwt.getSubject();
             
-            Optional<User> userOpt = userService.findByKeycloakId(keycloakId);
+            Optional<UserDto> userOpt = userService.findDtoByKeycloakId(keycloakId);
             if (userOpt.isEmpty()) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("status", "error");
-                errorResponse.put("message", "User not found in database");
-                errorResponse.put("timestamp", LocalDateTime.now().toString());
-                return ResponseEntity.status(404).body(errorResponse);
+                return ResponseEntity.status(404).body(ScrapingJobListResponse.builder()
+                        .status("error")
+                        .message("User not found in database")
+                        .timestamp(LocalDateTime.now().toString())
+                        .build());
             }
             
-            User user = userOpt.get();
-            List<ScrapingJob> scrapingJobs;
+            UserDto user = userOpt.get();
+            List<ScrapingJobSummaryDto> scrapingJobs;
             
             if (status != null) {
-                scrapingJobs = scrapingJobService.findByUserIdAndStatus(user.getId(), status);
+                scrapingJobs = scrapingJobService.findSummariesByUserIdAndStatus(user.getId(), status);
             } else {
-                scrapingJobs = scrapingJobService.findByUserId(user.getId());
+                scrapingJobs = scrapingJobService.findSummariesByUserId(user.getId());
             }
             
-            List<ScrapingJobDto> scrapingJobDtos = scrapingJobs.stream()
-                    .map(job -> buildScrapingJobDto(job, user))
-                    .toList();
+            ScrapingJobListResponse response = ScrapingJobListResponse.builder()
+                    .status("success")
+                    .message("Scraping jobs retrieved successfully")
+                    .user(user)
+                    .scrapingJobs(scrapingJobs)
+                    .totalJobs(scrapingJobs.size())
+                    .timestamp(LocalDateTime.now().toString())
+                    .build();
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Scraping jobs retrieved successfully");
-            response.put("scrapingJobs", scrapingJobDtos);
-            response.put("totalJobs", scrapingJobDtos.size());
-            response.put("timestamp", LocalDateTime.now().toString());
-            
-            log.info("Retrieved {} scraping jobs for user: {}", scrapingJobDtos.size(), user.getId());
+            log.info("Retrieved {} scraping jobs for user: {}", scrapingJobs.size(), user.getId());
             
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
             log.error("Error retrieving scraping jobs: {}", e.getMessage(), e);
             
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("status", "error");
-            errorResponse.put("message", "Failed to retrieve scraping jobs: " + e.getMessage());
-            errorResponse.put("timestamp", LocalDateTime.now().toString());
-            
-            return ResponseEntity.internalServerError().body(errorResponse);
+            return ResponseEntity.internalServerError().body(ScrapingJobListResponse.builder()
+                    .status("error")
+                    .message("Failed to retrieve scraping jobs: " + e.getMessage())
+                    .timestamp(LocalDateTime.now().toString())
+                    .build());
         }
     }
 
@@ -106,13 +109,14 @@ public class ScrapingJobController {
         summary = "Get Scraping Job by ID", 
         description = "Retrieves a specific scraping job by its ID",
         responses = {
-            @ApiResponse(responseCode = "200", description = "Scraping job retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Scraping job retrieved successfully",
+                content = @Content(schema = @Schema(implementation = ScrapingJobResponse.class))),
             @ApiResponse(responseCode = "404", description = "Scraping job not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
             @ApiResponse(responseCode = "403", description = "Forbidden - Job belongs to another user")
         }
     )
-    public ResponseEntity<Map<String, Object>> getScrapingJobById(
+    public ResponseEntity<ScrapingJobResponse> getScrapingJobById(
             @PathVariable UUID jobId,
             Authentication authentication) {
         
@@ -121,44 +125,33 @@ public class ScrapingJobController {
             Jwt jwt = (Jwt) authentication.getPrincipal();
             String keycloakId = jwt.getSubject();
             
-            Optional<User> userOpt = userService.findByKeycloakId(keycloakId);
+            Optional<UserDto> userOpt = userService.findDtoByKeycloakId(keycloakId);
             if (userOpt.isEmpty()) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("status", "error");
-                errorResponse.put("message", "User not found in database");
-                errorResponse.put("timestamp", LocalDateTime.now().toString());
-                return ResponseEntity.status(404).body(errorResponse);
+                return ResponseEntity.status(404).body(errorResponse("User not found in database"));
             }
             
-            User user = userOpt.get();
+            UserDto user = userOpt.get();
             
             Optional<ScrapingJob> scrapingJobOpt = scrapingJobService.findById(jobId);
             if (scrapingJobOpt.isEmpty()) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("status", "error");
-                errorResponse.put("message", "Scraping job not found with ID: " + jobId);
-                errorResponse.put("timestamp", LocalDateTime.now().toString());
-                return ResponseEntity.status(404).body(errorResponse);
+                return ResponseEntity.status(404).body(errorResponse("Scraping job not found with ID: " + jobId));
             }
             
             ScrapingJob scrapingJob = scrapingJobOpt.get();
             
             // Check if the job belongs to the authenticated user
             if (!scrapingJob.getUser().getId().equals(user.getId())) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("status", "error");
-                errorResponse.put("message", "Access denied - Job belongs to another user");
-                errorResponse.put("timestamp", LocalDateTime.now().toString());
-                return ResponseEntity.status(403).body(errorResponse);
+                return ResponseEntity.status(403).body(errorResponse("Access denied - Job belongs to another user"));
             }
             
             ScrapingJobDto scrapingJobDto = buildScrapingJobDto(scrapingJob, user);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Scraping job retrieved successfully");
-            response.put("scrapingJob", scrapingJobDto);
-            response.put("timestamp", LocalDateTime.now().toString());
+            ScrapingJobResponse response = ScrapingJobResponse.builder()
+                    .status("success")
+                    .message("Scraping job retrieved successfully")
+                    .scrapingJob(scrapingJobDto)
+                    .timestamp(LocalDateTime.now().toString())
+                    .build();
             
             log.info("Retrieved scraping job: {} for user: {}", jobId, user.getId());
             
@@ -167,12 +160,7 @@ public class ScrapingJobController {
         } catch (Exception e) {
             log.error("Error retrieving scraping job {}: {}", jobId, e.getMessage(), e);
             
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("status", "error");
-            errorResponse.put("message", "Failed to retrieve scraping job: " + e.getMessage());
-            errorResponse.put("timestamp", LocalDateTime.now().toString());
-            
-            return ResponseEntity.internalServerError().body(errorResponse);
+            return ResponseEntity.internalServerError().body(errorResponse("Failed to retrieve scraping job: " + e.getMessage()));
         }
     }
 
@@ -181,14 +169,15 @@ public class ScrapingJobController {
         summary = "Cancel Scraping Job", 
         description = "Cancels a running or pending scraping job",
         responses = {
-            @ApiResponse(responseCode = "200", description = "Scraping job cancelled successfully"),
+            @ApiResponse(responseCode = "200", description = "Scraping job cancelled successfully",
+                content = @Content(schema = @Schema(implementation = ScrapingJobResponse.class))),
             @ApiResponse(responseCode = "404", description = "Scraping job not found"),
             @ApiResponse(responseCode = "400", description = "Job cannot be cancelled in current state"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
             @ApiResponse(responseCode = "403", description = "Forbidden - Job belongs to another user")
         }
     )
-    public ResponseEntity<Map<String, Object>> cancelScrapingJob(
+    public ResponseEntity<ScrapingJobResponse> cancelScrapingJob(
             @PathVariable UUID jobId,
             @RequestParam(required = false) String reason,
             Authentication authentication) {
@@ -198,60 +187,51 @@ public class ScrapingJobController {
             Jwt jwt = (Jwt) authentication.getPrincipal();
             String keycloakId = jwt.getSubject();
             
-            Optional<User> userOpt = userService.findByKeycloakId(keycloakId);
+            Optional<UserDto> userOpt = userService.findDtoByKeycloakId(keycloakId);
             if (userOpt.isEmpty()) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("status", "error");
-                errorResponse.put("message", "User not found in database");
-                errorResponse.put("timestamp", LocalDateTime.now().toString());
-                return ResponseEntity.status(404).body(errorResponse);
+                return ResponseEntity.status(404).body(errorResponse("User not found in database"));
             }
             
-            User user = userOpt.get();
+            UserDto user = userOpt.get();
             
             Optional<ScrapingJob> scrapingJobOpt = scrapingJobService.findById(jobId);
             if (scrapingJobOpt.isEmpty()) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("status", "error");
-                errorResponse.put("message", "Scraping job not found with ID: " + jobId);
-                errorResponse.put("timestamp", LocalDateTime.now().toString());
-                return ResponseEntity.status(404).body(errorResponse);
+                return ResponseEntity.status(404).body(errorResponse("Scraping job not found with ID: " + jobId));
             }
             
             ScrapingJob scrapingJob = scrapingJobOpt.get();
             
             // Check if the job belongs to the authenticated user
             if (!scrapingJob.getUser().getId().equals(user.getId())) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("status", "error");
-                errorResponse.put("message", "Access denied - Job belongs to another user");
-                errorResponse.put("timestamp", LocalDateTime.now().toString());
-                return ResponseEntity.status(403).body(errorResponse);
+                return ResponseEntity.status(403).body(errorResponse("Access denied - Job belongs to another user"));
             }
             
             // Check if job can be cancelled
             if (scrapingJob.getStatus() == JobStatus.COMPLETED || 
                 scrapingJob.getStatus() == JobStatus.FAILED || 
                 scrapingJob.getStatus() == JobStatus.CANCELLED) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("status", "error");
-                errorResponse.put("message", "Cannot cancel job in " + scrapingJob.getStatus() + " state");
-                errorResponse.put("timestamp", LocalDateTime.now().toString());
-                return ResponseEntity.status(400).body(errorResponse);
+                return ResponseEntity.status(400).body(errorResponse("Cannot cancel job in " + scrapingJob.getStatus() + " state"));
             }
             
-            ScrapingJob cancelledJob = scrapingJobService.cancelScrapingJob(
-                jobId, 
-                reason != null ? reason : "Cancelled by user"
-            );
+            ScrapingJob cancelledJob;
+            try {
+                cancelledJob = scrapingJobService.cancelScrapingJob(
+                    scrapingJob, 
+                    reason != null ? reason : "Cancelled by user"
+                );
+            } catch (IllegalStateException e) {
+                // The job finished between the check above and the cancel
+                return ResponseEntity.status(400).body(errorResponse("Cannot cancel job, it has already finished"));
+            }
             
             ScrapingJobDto scrapingJobDto = buildScrapingJobDto(cancelledJob, user);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Scraping job cancelled successfully");
-            response.put("scrapingJob", scrapingJobDto);
-            response.put("timestamp", LocalDateTime.now().toString());
+            ScrapingJobResponse response = ScrapingJobResponse.builder()
+                    .status("success")
+                    .message("Scraping job cancelled successfully")
+                    .scrapingJob(scrapingJobDto)
+                    .timestamp(LocalDateTime.now().toString())
+                    .build();
             
             log.info("Cancelled scraping job: {} for user: {}", jobId, user.getId());
             
@@ -260,38 +240,19 @@ public class ScrapingJobController {
         } catch (Exception e) {
             log.error("Error cancelling scraping job {}: {}", jobId, e.getMessage(), e);
             
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("status", "error");
-            errorResponse.put("message", "Failed to cancel scraping job: " + e.getMessage());
-            errorResponse.put("timestamp", LocalDateTime.now().toString());
-            
-            return ResponseEntity.internalServerError().body(errorResponse);
+            return ResponseEntity.internalServerError().body(errorResponse("Failed to cancel scraping job: " + e.getMessage()));
         }
     }
 
-    private ScrapingJobDto buildScrapingJobDto(ScrapingJob scrapingJob, User user) {
-        UserDto userDto = UserDto.builder()
-                .id(user.getId())
-                .keycloakId(user.getKeycloakId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .build();
-        
-        return ScrapingJobDto.builder()
-                .id(scrapingJob.getId())
-                .user(userDto)
-                .status(scrapingJob.getStatus())
-                .startTime(scrapingJob.getStartTime())
-                .endTime(scrapingJob.getEndTime())
-                .targetUrl(scrapingJob.getTargetUrl())
-                .pagesScraped(scrapingJob.getPagesScraped())
-                .commentsFound(scrapingJob.getCommentsFound())
-                .errors(scrapingJob.getErrors())
-                .configuration(scrapingJob.getConfiguration())
-                .createdAt(scrapingJob.getCreatedAt())
-                .updatedAt(scrapingJob.getUpdatedAt())
+    private ScrapingJobDto buildScrapingJobDto(ScrapingJob scrapingJob, UserDto user) {
+        return dtoMapper.toScrapingJobDto(scrapingJob, user);
+    }
+
+    private ScrapingJobResponse errorResponse(String message) {
+        return ScrapingJobResponse.builder()
+                .status("error")
+                .message(message)
+                .timestamp(LocalDateTime.now().toString())
                 .build();
     }
 }
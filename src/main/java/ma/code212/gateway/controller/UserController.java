@@ -2,7 +2,10 @@ package ma.code212.gateway.controller;
 
 import ma.code212.gateway.model.User;
 import ma.code212.gateway.service.UserService;
-import ma.code212.gateway.dto.UserInfo;
+import ma.code212.gateway.dto.DtoMapper;
+import ma.code212.gateway.dto.UserProfileDto;
+import ma.code212.gateway.dto.UserProfileResponse;
+import ma.code212.gateway.dto.UserStatusResponse;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,16 +17,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 
 @RestController
+@Observed(name = "gateway.controller")
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 @Slf4j
@@ -32,6 +34,7 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final DtoMapper dtoMapper;
 
     @GetMapping("/profile/{keycloakId}")
     @Operation(summary = "Get user profile by Keycloak ID", description = "Retrieve user profile information by Keycloak ID")
@@ -41,36 +44,12 @@ public class UserController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<Map<String, Object>> getUserProfile(@PathVariable String keycloakId) {
+    public ResponseEntity<UserProfileResponse> getUserProfile(@PathVariable String keycloakId) {
         log.info("Getting user profile for Keycloak ID: {}", keycloakId);
         
-        Optional<User> userOpt = userService.findByKeycloakId(keycloakId);
-        
-        if (userOpt.isEmpty()) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", "User not found");
-            response.put("timestamp", LocalDateTime.now().toString());
-            return ResponseEntity.notFound().build();
-        }
-        
-        User user = userOpt.get();
-        UserInfo userInfo = UserInfo.builder()
-                .id(user.getKeycloakId())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .enabled(user.getIsActive())
-                .build();
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "success");
-        response.put("user", userInfo);
-        response.put("lastLogin", user.getLastLogin());
-        response.put("createdAt", user.getCreatedAt());
-        response.put("timestamp", LocalDateTime.now().toString());
-        
-        return ResponseEntity.ok(response);
+        return userService.findProfileByKeycloakId(keycloakId)
+                .map(profile -> ResponseEntity.ok(profileResponse(profile)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/profile/email/{email}")
@@ -81,36 +60,12 @@ public class UserController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Object>> getUserProfileByEmail(@PathVariable String email) {
+    public ResponseEntity<UserProfileResponse> getUserProfileByEmail(@PathVariable String email) {
         log.info("Getting user profile for email: {}", email);
         
-        Optional<User> userOpt = userService.findByEmail(email);
-        
-        if (userOpt.isEmpty()) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", "User not found");
-            response.put("timestamp", LocalDateTime.now().toString());
-            return ResponseEntity.notFound().build();
-        }
-        
-        User user = userOpt.get();
-        UserInfo userInfo = UserInfo.builder()
-                .id(user.getKeycloakId())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .enabled(user.getIsActive())
-                .build();
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "success");
-        response.put("user", userInfo);
-        response.put("lastLogin", user.getLastLogin());
-        response.put("createdAt", user.getCreatedAt());
-        response.put("timestamp", LocalDateTime.now().toString());
-        
-        return ResponseEntity.ok(response);
+        return userService.findProfileByEmail(email)
+                .map(profile -> ResponseEntity.ok(profileResponse(profile)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{userId}/status")
@@ -121,7 +76,7 @@ public class UserController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Object>> updateUserStatus(
+    public ResponseEntity<UserStatusResponse> updateUserStatus(
             @PathVariable UUID userId,
             @RequestParam boolean isActive) {
         
@@ -129,12 +84,13 @@ public class UserController {
         
         userService.setUserActive(userId, isActive);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "success");
-        response.put("message", "User status updated successfully");
-        response.put("userId", userId);
-        response.put("isActive", isActive);
-        response.put("timestamp", LocalDateTime.now().toString());
+        UserStatusResponse response = UserStatusResponse.builder()
+                .status("success")
+                .message("User status updated successfully")
+                .userId(userId)
+                .isActive(isActive)
+                .timestamp(LocalDateTime.now().toString())
+                .build();
         
         return ResponseEntity.ok(response);
     }
@@ -146,7 +102,7 @@ public class UserController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Object>> syncUser(
+    public ResponseEntity<UserProfileResponse> syncUser(
             @PathVariable String keycloakId,
             @RequestParam String username,
             @RequestParam String email,
@@ -157,20 +113,23 @@ public class UserController {
 
         User user = userService.findOrCreateByKeycloakId(keycloakId, email, username, firstName, lastName);
 
-        UserInfo userInfo = UserInfo.builder()
-                .id(user.getKeycloakId())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .enabled(user.getIsActive())
+        UserProfileResponse response = UserProfileResponse.builder()
+                .status("success")
+                .message("User synced successfully")
+                .user(dtoMapper.toUserInfo(user))
+                .timestamp(LocalDateTime.now().toString())
                 .build();
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "success");
-        response.put("message", "User synced successfully");
-        response.put("user", userInfo);
-        response.put("timestamp", LocalDateTime.now().toString());
-        
         return ResponseEntity.ok(response);
     }
+
+    private UserProfileResponse profileResponse(UserProfileDto profile) {
+        return UserProfileResponse.builder()
+                .status("success")
+                .user(dtoMapper.toUserInfo(profile))
+                .lastLogin(profile.getLastLogin())
+                .createdAt(profile.getCreatedAt())
+                .timestamp(LocalDateTime.now().toString())
+                .build();
+    }
 }
@@ -0,0 +1,38 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A page of an article's comments with their latest results for one model")
+public class ArticleCommentsResponse {
+
+    @Schema(description = "success or error")
+    private String status;
+
+    private String message;
+
+    private ArticleDto article;
+
+    @Schema(description = "Model whose latest results are returned")
+    private String modelName;
+
+    private int page;
+
+    private int size;
+
+    @Schema(description = "Number of comments stored for the article")
+    private long totalComments;
+
+    private List<CommentWithLatestResultDto> comments;
+
+    private String timestamp;
+}
@@ -0,0 +1,41 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of one URL in a bulk scrape")
+public class BulkScrapeItemResult {
+
+    @Schema(description = "Scraped URL")
+    private String url;
+
+    @Schema(description = "success or error")
+    private String status;
+
+    @Schema(description = "Whether the comments were served from cache")
+    private boolean fromCache;
+
+    @Schema(description = "ID of the article the comments were saved to")
+    private UUID articleId;
+
+    @Schema(description = "ID of the scraping job tracking this URL")
+    private UUID scrapingJobId;
+
+    @Schema(description = "Number of comments saved")
+    private int commentsSaved;
+
+    @Schema(description = "Total comments reported by the scraper")
+    private int totalComments;
+
+    @Schema(description = "Error message when the URL failed")
+    private String error;
+}
@@ -0,0 +1,28 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to scrape comments for several articles at once")
+public class BulkScrapeRequest {
+
+    @NotEmpty(message = "At least one article is required")
+    @Size(max = 500, message = "At most 500 articles can be scraped at once")
+    @Schema(description = "Articles to scrape", required = true)
+    private List<@Valid ScrapeCommentsRequest> items;
+
+    @Schema(description = "Process the batch in the background and return a batch ID to poll", example = "false")
+    private boolean async;
+}
@@ -0,0 +1,45 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.code212.gateway.enums.JobStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Summary of a bulk scrape")
+public class BulkScrapeResponse {
+
+    @Schema(description = "success or error")
+    private String status;
+
+    private String message;
+
+    @Schema(description = "ID of the batch, used to poll asynchronous batches")
+    private UUID batchId;
+
+    @Schema(description = "Progress of the batch")
+    private JobStatus batchStatus;
+
+    @Schema(description = "ID of the user who submitted the batch")
+    private UUID userId;
+
+    private int totalUrls;
+
+    private int cacheHits;
+
+    private int scraped;
+
+    private int failed;
+
+    private List<BulkScrapeItemResult> results;
+
+    private String timestamp;
+}
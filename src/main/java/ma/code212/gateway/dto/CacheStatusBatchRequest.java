@@ -0,0 +1,25 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request for the cache status of several URLs")
+public class CacheStatusBatchRequest {
+
+    @NotEmpty(message = "At least one URL is required")
+    @Size(max = 500, message = "At most 500 URLs can be checked at once")
+    @Schema(description = "URLs to check", required = true)
+    private List<@NotBlank(message = "URL cannot be blank") String> urls;
+}
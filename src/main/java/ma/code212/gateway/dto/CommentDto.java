@@ -6,7 +6,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import ma.code212.gateway.enums.Sentiment;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -22,7 +21,7 @@ public class CommentDto {
     private LocalDateTime publishDate;
     private LocalDateTime scrapedAt;
     private Sentiment sentiment;
-    private BigDecimal confidenceScore;
+    private Float confidenceScore;
     private Boolean isProcessed;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
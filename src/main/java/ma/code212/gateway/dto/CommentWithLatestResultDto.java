@@ -0,0 +1,20 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Comment with its latest sentiment analysis result for one model")
+public class CommentWithLatestResultDto {
+
+    private CommentDto comment;
+
+    @Schema(description = "Latest result for the requested model, null when the comment was not classified with it")
+    private SentimentAnalysisResultDto latestResult;
+}
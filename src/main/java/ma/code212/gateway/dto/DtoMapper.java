@@ -0,0 +1,108 @@
+package ma.code212.gateway.dto;
+
+import ma.code212.gateway.model.Article;
+import ma.code212.gateway.model.Comment;
+import ma.code212.gateway.model.ScrapingJob;
+import ma.code212.gateway.model.SentimentAnalysisResult;
+import ma.code212.gateway.model.User;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps entities to the DTOs returned by the controllers
+ */
+@Component
+public class DtoMapper {
+
+    public UserDto toUserDto(User user) {
+        return UserDto.builder()
+                .id(user.getId())
+                .keycloakId(user.getKeycloakId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .build();
+    }
+
+    public ArticleDto toArticleDto(Article article, User user) {
+        return ArticleDto.builder()
+                .id(article.getId())
+                .title(article.getTitle())
+                .url(article.getUrl())
+                .totalComments(article.getTotalComments())
+                .scrapedAt(article.getScrapedAt())
+                .user(toUserDto(user))
+                .build();
+    }
+
+    public CommentDto toCommentDto(Comment comment) {
+        return CommentDto.builder()
+                .id(comment.getId())
+                .content(comment.getContent())
+                .author(comment.getAuthor())
+                .url(comment.getUrl())
+                .publishDate(comment.getPublishDate())
+                .scrapedAt(comment.getScrapedAt())
+                .sentiment(comment.getSentiment())
+                .confidenceScore(comment.getConfidenceScore())
+                .isProcessed(comment.getIsProcessed())
+                .createdAt(comment.getCreatedAt())
+                .updatedAt(comment.getUpdatedAt())
+                .build();
+    }
+
+    public SentimentAnalysisResultDto toSentimentAnalysisResultDto(SentimentAnalysisResult result) {
+        return SentimentAnalysisResultDto.builder()
+                .id(result.getId())
+                .modelName(result.getModelName())
+                .sentiment(result.getSentiment())
+                .confidenceScore(result.getConfidenceScore())
+                .positiveScore(result.getPositiveScore())
+                .negativeScore(result.getNegativeScore())
+                .neutralScore(result.getNeutralScore())
+                .processedAt(result.getProcessedAt())
+                .createdAt(result.getCreatedAt())
+                .build();
+    }
+
+    public ScrapingJobDto toScrapingJobDto(ScrapingJob scrapingJob, User user) {
+        return toScrapingJobDto(scrapingJob, toUserDto(user));
+    }
+
+    public ScrapingJobDto toScrapingJobDto(ScrapingJob scrapingJob, UserDto user) {
+        return ScrapingJobDto.builder()
+                .id(scrapingJob.getId())
+                .user(user)
+                .status(scrapingJob.getStatus())
+                .startTime(scrapingJob.getStartTime())
+                .endTime(scrapingJob.getEndTime())
+                .targetUrl(scrapingJob.getTargetUrl())
+                .pagesScraped(scrapingJob.getPagesScraped())
+                .commentsFound(scrapingJob.getCommentsFound())
+                .errors(scrapingJob.getErrors())
+                .configuration(scrapingJob.getConfiguration())
+                .createdAt(scrapingJob.getCreatedAt())
+                .updatedAt(scrapingJob.getUpdatedAt())
+                .build();
+    }
+
+    public UserInfo toUserInfo(User user) {
+        return UserInfo.builder()
+                .id(user.getKeycloakId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .enabled(user.getIsActive())
+                .build();
+    }
+
+    public UserInfo toUserInfo(UserProfileDto profile) {
+        return UserInfo.builder()
+                .id(profile.getKeycloakId())
+                .email(profile.getEmail())
+                .firstName(profile.getFirstName())
+                .lastName(profile.getLastName())
+                .enabled(profile.getIsActive())
+                .build();
+    }
+}
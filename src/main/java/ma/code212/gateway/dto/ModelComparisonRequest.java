@@ -0,0 +1,36 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to compare sentiment models over an article's comments or a date range")
+public class ModelComparisonRequest {
+
+    @NotNull(message = "Models are required")
+    @Size(min = 2, max = 5, message = "Between 2 and 5 models can be compared")
+    @Schema(description = "Models to run; the first one is the baseline", example = "[\"default_model\", \"candidate_model\"]")
+    private List<@NotBlank String> models;
+
+    @Schema(description = "Compare the comments of this article")
+    private UUID articleId;
+
+    @Schema(description = "Compare comments created from this date (inclusive), used when no article ID is given")
+    private LocalDateTime from;
+
+    @Schema(description = "Compare comments created before this date (exclusive)")
+    private LocalDateTime to;
+}
@@ -0,0 +1,56 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.code212.gateway.enums.JobStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress and report of a model comparison run")
+public class ModelComparisonResponse {
+
+    @Schema(description = "success or error")
+    private String status;
+
+    private String message;
+
+    @Schema(description = "ID of the run, used to poll its progress")
+    private UUID runId;
+
+    @Schema(description = "Progress of the run")
+    private JobStatus runStatus;
+
+    @Schema(description = "Compared models; the first one is the baseline")
+    private List<String> models;
+
+    private UUID articleId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private int totalComments;
+
+    private int processedComments;
+
+    @Schema(description = "Agreement rate, confusion matrix and latency per model, available once the run completes")
+    private Map<String, Object> report;
+
+    private String errors;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    private String timestamp;
+}
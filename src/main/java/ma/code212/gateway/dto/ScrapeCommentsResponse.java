@@ -18,5 +18,8 @@ public class ScrapeCommentsResponse {
     private List<CommentDto> comments;
     private int totalComments;
     private ScrapingJobDto scrapingJob;
+    private Boolean fromCache;
+    private Boolean stale;
+    private Long cacheAgeSeconds;
     private String timestamp;
 }
@@ -0,0 +1,31 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "The authenticated user's scraping jobs, most recent first")
+public class ScrapingJobListResponse {
+
+    @Schema(description = "success or error")
+    private String status;
+
+    private String message;
+
+    @Schema(description = "Owner of all listed jobs")
+    private UserDto user;
+
+    private List<ScrapingJobSummaryDto> scrapingJobs;
+
+    private int totalJobs;
+
+    private String timestamp;
+}
@@ -0,0 +1,24 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A single scraping job")
+public class ScrapingJobResponse {
+
+    @Schema(description = "success or error")
+    private String status;
+
+    private String message;
+
+    private ScrapingJobDto scrapingJob;
+
+    private String timestamp;
+}
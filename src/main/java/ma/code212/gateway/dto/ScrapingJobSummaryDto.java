@@ -0,0 +1,32 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.code212.gateway.enums.JobStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Scraping job without its configuration and errors, read straight from the
+ * columns by a JPQL constructor expression (field order is the constructor order)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Scraping job in a listing; configuration and errors are returned by the job detail endpoint")
+public class ScrapingJobSummaryDto {
+    private UUID id;
+    private JobStatus status;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String targetUrl;
+    private Integer pagesScraped;
+    private Integer commentsFound;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -7,7 +7,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import ma.code212.gateway.enums.Sentiment;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -28,16 +27,16 @@ public class SentimentAnalysisResultDto {
     private Sentiment sentiment;
     
     @Schema(description = "Confidence score of the analysis")
-    private BigDecimal confidenceScore;
+    private float confidenceScore;
     
     @Schema(description = "Positive sentiment score")
-    private BigDecimal positiveScore;
+    private float positiveScore;
     
     @Schema(description = "Negative sentiment score")
-    private BigDecimal negativeScore;
+    private float negativeScore;
     
     @Schema(description = "Neutral sentiment score")
-    private BigDecimal neutralScore;
+    private float neutralScore;
     
     @Schema(description = "Timestamp when the analysis was processed")
     private LocalDateTime processedAt;
@@ -0,0 +1,26 @@
+package ma.code212.gateway.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * User columns shown in profile responses, read by a JPQL constructor expression
+ * (field order is the constructor order)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileDto {
+    private String keycloakId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private Boolean isActive;
+    private LocalDateTime lastLogin;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A user's profile")
+public class UserProfileResponse {
+
+    @Schema(description = "success or error")
+    private String status;
+
+    private String message;
+
+    private UserInfo user;
+
+    private LocalDateTime lastLogin;
+
+    private LocalDateTime createdAt;
+
+    private String timestamp;
+}
@@ -0,0 +1,28 @@
+package ma.code212.gateway.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a user status change")
+public class UserStatusResponse {
+
+    @Schema(description = "success or error")
+    private String status;
+
+    private String message;
+
+    private UUID userId;
+
+    private Boolean isActive;
+
+    private String timestamp;
+}
@@ -0,0 +1,74 @@
+package ma.code212.gateway.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.service.UrlCanonicalizer;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Adds the canonical URL used as article identity and merges articles whose URLs
+ * only differed by encoding, host alias or tracking parameters. The oldest
+ * article of each group is kept; comments and comparison runs of the others are
+ * moved to it. Written in Java so the backfill uses the same rules as
+ * {@link UrlCanonicalizer}. On a fresh database Hibernate creates the column and
+ * index from the Article entity.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class V5__Article_canonical_url extends BaseJavaMigration {
+
+    private final UrlCanonicalizer urlCanonicalizer;
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        if (!tableExists(jdbcTemplate, "articles")) {
+            return;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE articles ADD COLUMN IF NOT EXISTS canonical_url VARCHAR(2048)");
+
+        Map<String, List<UUID>> idsByCanonicalUrl = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, url FROM articles ORDER BY scraped_at ASC NULLS LAST, id", row -> {
+            idsByCanonicalUrl.computeIfAbsent(urlCanonicalizer.canonicalize(row.getString("url")), url -> new ArrayList<>())
+                    .add(row.getObject("id", UUID.class));
+        });
+
+        boolean hasComparisonRuns = tableExists(jdbcTemplate, "model_comparison_runs");
+        int merged = 0;
+        for (Map.Entry<String, List<UUID>> entry : idsByCanonicalUrl.entrySet()) {
+            List<UUID> ids = entry.getValue();
+            UUID keptId = ids.get(0);
+            for (UUID duplicateId : ids.subList(1, ids.size())) {
+                jdbcTemplate.update("UPDATE comments SET article_id = ? WHERE article_id = ?", keptId, duplicateId);
+                if (hasComparisonRuns) {
+                    jdbcTemplate.update("UPDATE model_comparison_runs SET article_id = ? WHERE article_id = ?", keptId, duplicateId);
+                }
+                jdbcTemplate.update("UPDATE articles a SET total_comments = GREATEST(COALESCE(a.total_comments, 0), COALESCE(d.total_comments, 0)), " +
+                        "scraped_at = GREATEST(a.scraped_at, d.scraped_at) FROM articles d WHERE a.id = ? AND d.id = ?", keptId, duplicateId);
+                jdbcTemplate.update("DELETE FROM articles WHERE id = ?", duplicateId);
+                merged++;
+            }
+            jdbcTemplate.update("UPDATE articles SET canonical_url = ? WHERE id = ?", entry.getKey(), keptId);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE articles ALTER COLUMN canonical_url SET NOT NULL");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_articles_canonical_url ON articles (canonical_url)");
+        log.info("Backfilled canonical URLs for {} articles, merged {} duplicates", idsByCanonicalUrl.size(), merged);
+    }
+
+    private boolean tableExists(JdbcTemplate jdbcTemplate, String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+}
@@ -17,7 +17,9 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+    @Index(name = "idx_articles_canonical_url", columnList = "canonical_url", unique = true)
+})
 public class Article {
 
     @Id
@@ -31,9 +33,14 @@ public class Article {
     @Column(nullable = false, length = 500)
     private String title;
 
-    @Column(unique = true, nullable = false, length = 500)
+    // URL as first submitted; not unique, variants share the canonical URL
+    @Column(nullable = false, length = 2048)
     private String url;
 
+    // Article identity, see UrlCanonicalizer
+    @Column(name = "canonical_url", nullable = false, length = 2048)
+    private String canonicalUrl;
+
 
     @Column(name = "total_comments")
     @Builder.Default
@@ -9,7 +9,6 @@ import ma.code212.gateway.enums.Sentiment;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -19,7 +18,9 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_is_processed_created_at", columnList = "is_processed, created_at")
+})
 public class Comment {
 
     @Id
@@ -48,13 +49,23 @@ public class Comment {
     @Enumerated(EnumType.STRING)
     private Sentiment sentiment;
 
-    @Column(name = "confidence_score", precision = 5, scale = 4)
-    private BigDecimal confidenceScore;
+    // Null until the comment is classified
+    @Column(name = "confidence_score")
+    private Float confidenceScore;
 
     @Column(name = "is_processed", nullable = false)
     @Builder.Default
     private Boolean isProcessed = false;
 
+    // Lease taken by the auto-classification pipeline, expires so crashed workers do not strand comments
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    // Failed classification attempts, the pipeline stops claiming the comment after classification.auto.max-attempts
+    @Column(name = "classification_attempts", nullable = false)
+    @Builder.Default
+    private Integer classificationAttempts = 0;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
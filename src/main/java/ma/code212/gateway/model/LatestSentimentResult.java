@@ -0,0 +1,63 @@
+package ma.code212.gateway.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.code212.gateway.enums.Sentiment;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Most recent classification of a comment per model, maintained on every
+ * classification so article views do not scan all results of all comments.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "latest_results")
+public class LatestSentimentResult {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "result_id", nullable = false)
+    private UUID resultId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Sentiment sentiment;
+
+    @Column(name = "confidence_score", nullable = false)
+    private float confidenceScore;
+
+    @Column(name = "positive_score", nullable = false)
+    private float positiveScore;
+
+    @Column(name = "negative_score", nullable = false)
+    private float negativeScore;
+
+    @Column(name = "neutral_score", nullable = false)
+    private float neutralScore;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "comment_id", nullable = false)
+        private UUID commentId;
+
+        @Column(name = "model_name", nullable = false, length = 255)
+        private String modelName;
+    }
+}
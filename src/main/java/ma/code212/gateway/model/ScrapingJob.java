@@ -20,7 +20,9 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "scraping_jobs")
+@Table(name = "scraping_jobs", indexes = {
+    @Index(name = "idx_scraping_jobs_user_id_created_at", columnList = "user_id, created_at")
+})
 public class ScrapingJob {
 
     @Id
@@ -8,7 +8,6 @@ import lombok.NoArgsConstructor;
 import ma.code212.gateway.enums.Sentiment;
 import org.hibernate.annotations.CreationTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -35,17 +34,18 @@ public class SentimentAnalysisResult {
     @Column(nullable = false)
     private Sentiment sentiment;
 
-    @Column(name = "confidence_score", nullable = false, precision = 5, scale = 4)
-    private BigDecimal confidenceScore;
+    // Scores are stored as 4-byte reals, probabilities do not need exact decimals
+    @Column(name = "confidence_score", nullable = false)
+    private float confidenceScore;
 
-    @Column(name = "positive_score", precision = 5, scale = 4)
-    private BigDecimal positiveScore;
+    @Column(name = "positive_score", nullable = false)
+    private float positiveScore;
 
-    @Column(name = "negative_score", precision = 5, scale = 4)
-    private BigDecimal negativeScore;
+    @Column(name = "negative_score", nullable = false)
+    private float negativeScore;
 
-    @Column(name = "neutral_score", precision = 5, scale = 4)
-    private BigDecimal neutralScore;
+    @Column(name = "neutral_score", nullable = false)
+    private float neutralScore;
 
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
@@ -6,7 +6,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +18,8 @@ public interface ArticleRepository extends JpaRepository<Article, UUID> {
     
     Optional<Article> findByUrl(String url);
     
+    Optional<Article> findByCanonicalUrl(String canonicalUrl);
+    
     
     List<Article> findByUser(User user);
     
@@ -23,5 +27,31 @@ public interface ArticleRepository extends JpaRepository<Article, UUID> {
     @Query("SELECT a FROM Article a WHERE a.user.id = :userId")
     List<Article> findByUserId(@Param("userId") UUID userId);
     
-    boolean existsByUrl(String url);
+    boolean existsByCanonicalUrl(String canonicalUrl);
+    
+    /**
+     * Insert the article unless one with the same canonical URL exists, and return
+     * the inserted or existing row in the same statement. Only a canonical URL
+     * conflict is tolerated; other constraint violations still fail. Empty when
+     * the existing row was committed by a concurrent transaction after this
+     * statement started; it is then visible to the next statement.
+     */
+    @Transactional
+    @Query(value = """
+            WITH inserted AS (
+                INSERT INTO articles (id, user_id, title, url, canonical_url, total_comments, scraped_at)
+                VALUES (:id, :userId, :title, :url, :canonicalUrl, 0, :scrapedAt)
+                ON CONFLICT (canonical_url) DO NOTHING
+                RETURNING *)
+            SELECT * FROM inserted
+            UNION ALL
+            SELECT * FROM articles WHERE canonical_url = :canonicalUrl
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<Article> insertIfAbsent(@Param("id") UUID id,
+                                     @Param("userId") UUID userId,
+                                     @Param("title") String title,
+                                     @Param("url") String url,
+                                     @Param("canonicalUrl") String canonicalUrl,
+                                     @Param("scrapedAt") LocalDateTime scrapedAt);
 }
@@ -3,11 +3,16 @@ package ma.code212.gateway.repository;
 import ma.code212.gateway.model.Article;
 import ma.code212.gateway.model.Comment;
 import ma.code212.gateway.enums.Sentiment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,4 +34,50 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
     long countByArticle(Article article);
     
     long countBySentiment(Sentiment sentiment);
+    
+    long countByIsProcessed(Boolean isProcessed);
+    
+    @Query("SELECT c FROM Comment c WHERE c.article.id = :articleId ORDER BY c.createdAt, c.id")
+    List<Comment> findPageByArticleId(@Param("articleId") UUID articleId, Pageable pageable);
+    
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.article.id = :articleId")
+    long countByArticleId(@Param("articleId") UUID articleId);
+    
+    @Query("SELECT c FROM Comment c WHERE c.createdAt >= :from AND c.createdAt < :to ORDER BY c.createdAt, c.id")
+    List<Comment> findPageByCreatedAtBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+    
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.createdAt >= :from AND c.createdAt < :to")
+    long countByCreatedAtBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * Claim up to {@code limit} unprocessed comments whose lease is free or expired
+     * and that failed fewer than {@code maxAttempts} times.
+     * SKIP LOCKED lets several gateway instances claim disjoint batches concurrently.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE comments SET claimed_at = :now
+            WHERE id IN (
+                SELECT id FROM comments
+                WHERE is_processed = false AND (claimed_at IS NULL OR claimed_at < :leaseExpiredBefore)
+                  AND classification_attempts < :maxAttempts
+                ORDER BY created_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """, nativeQuery = true)
+    List<Comment> claimUnprocessed(@Param("now") LocalDateTime now,
+                                   @Param("leaseExpiredBefore") LocalDateTime leaseExpiredBefore,
+                                   @Param("maxAttempts") int maxAttempts,
+                                   @Param("limit") int limit);
+    
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.isProcessed = false AND c.classificationAttempts < :maxAttempts")
+    long countClaimable(@Param("maxAttempts") int maxAttempts);
+    
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.isProcessed = false AND c.classificationAttempts >= :maxAttempts")
+    long countAbandoned(@Param("maxAttempts") int maxAttempts);
+    
+    @Modifying
+    @Query("UPDATE Comment c SET c.classificationAttempts = c.classificationAttempts + 1 WHERE c.id IN :ids")
+    int incrementClassificationAttempts(@Param("ids") Collection<UUID> ids);
 }
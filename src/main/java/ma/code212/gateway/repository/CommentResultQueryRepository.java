@@ -0,0 +1,87 @@
+package ma.code212.gateway.repository;
+
+import lombok.RequiredArgsConstructor;
+import ma.code212.gateway.dto.CommentDto;
+import ma.code212.gateway.dto.CommentWithLatestResultDto;
+import ma.code212.gateway.dto.SentimentAnalysisResultDto;
+import ma.code212.gateway.enums.Sentiment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read queries joining comments with their latest results, mapped straight to DTOs
+ */
+@Repository
+@RequiredArgsConstructor
+public class CommentResultQueryRepository {
+
+    private static final String COMMENTS_WITH_LATEST_RESULT_SQL =
+            "SELECT c.id, c.content, c.author, c.url, c.publish_date, c.scraped_at, c.sentiment, c.confidence_score, " +
+            "c.is_processed, c.created_at, c.updated_at, " +
+            "lr.result_id, lr.sentiment AS result_sentiment, lr.confidence_score AS result_confidence_score, " +
+            "lr.positive_score, lr.negative_score, lr.neutral_score, lr.processed_at " +
+            "FROM comments c " +
+            "LEFT JOIN latest_results lr ON lr.comment_id = c.id AND lr.model_name = ? " +
+            "WHERE c.article_id = ? " +
+            "ORDER BY c.created_at, c.id " +
+            "LIMIT ? OFFSET ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A page of an article's comments, each with its latest result for the model
+     */
+    public List<CommentWithLatestResultDto> findCommentsWithLatestResult(UUID articleId, String modelName, int page, int size) {
+        return jdbcTemplate.query(COMMENTS_WITH_LATEST_RESULT_SQL,
+                (rs, rowNum) -> mapRow(rs, modelName),
+                modelName, articleId, size, (long) page * size);
+    }
+
+    private CommentWithLatestResultDto mapRow(ResultSet rs, String modelName) throws SQLException {
+        CommentDto comment = CommentDto.builder()
+                .id(rs.getObject("id", UUID.class))
+                .content(rs.getString("content"))
+                .author(rs.getString("author"))
+                .url(rs.getString("url"))
+                .publishDate(toLocalDateTime(rs.getTimestamp("publish_date")))
+                .scrapedAt(toLocalDateTime(rs.getTimestamp("scraped_at")))
+                .sentiment(toSentiment(rs.getString("sentiment")))
+                .confidenceScore(rs.getObject("confidence_score") != null ? rs.getFloat("confidence_score") : null)
+                .isProcessed(rs.getBoolean("is_processed"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .build();
+
+        UUID resultId = rs.getObject("result_id", UUID.class);
+        SentimentAnalysisResultDto latestResult = resultId == null ? null : SentimentAnalysisResultDto.builder()
+                .id(resultId)
+                .modelName(modelName)
+                .sentiment(toSentiment(rs.getString("result_sentiment")))
+                .confidenceScore(rs.getFloat("result_confidence_score"))
+                .positiveScore(rs.getFloat("positive_score"))
+                .negativeScore(rs.getFloat("negative_score"))
+                .neutralScore(rs.getFloat("neutral_score"))
+                .processedAt(toLocalDateTime(rs.getTimestamp("processed_at")))
+                .build();
+
+        return CommentWithLatestResultDto.builder()
+                .comment(comment)
+                .latestResult(latestResult)
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static Sentiment toSentiment(String sentiment) {
+        return sentiment != null ? Sentiment.valueOf(sentiment) : null;
+    }
+}
@@ -0,0 +1,76 @@
+package ma.code212.gateway.repository;
+
+import ma.code212.gateway.enums.JobStatus;
+import ma.code212.gateway.model.ModelComparisonRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public interface ModelComparisonRunRepository extends JpaRepository<ModelComparisonRun, UUID> {
+    
+    @Query("SELECT r FROM ModelComparisonRun r WHERE r.user.id = :userId ORDER BY r.createdAt DESC")
+    List<ModelComparisonRun> findByUserId(@Param("userId") UUID userId);
+    
+    /**
+     * Fail runs in one of the given states that made no progress since {@code staleBefore}
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ModelComparisonRun r SET r.status = ma.code212.gateway.enums.JobStatus.FAILED, r.errors = :errors, " +
+           "r.endTime = :now, r.updatedAt = :now " +
+           "WHERE r.status IN :statuses AND COALESCE(r.updatedAt, r.createdAt) < :staleBefore")
+    int failStale(@Param("statuses") Collection<JobStatus> statuses,
+                  @Param("errors") String errors,
+                  @Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("now") LocalDateTime now);
+    
+    // Transitions by ID without loading the run. Each only applies while the run is
+    // still in the expected state, so a run failed as stale is never overwritten,
+    // and returns 0 otherwise.
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ModelComparisonRun r SET r.status = ma.code212.gateway.enums.JobStatus.RUNNING, " +
+           "r.totalComments = :totalComments, r.startTime = :now, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = ma.code212.gateway.enums.JobStatus.PENDING")
+    int startIfPending(@Param("id") UUID id,
+                       @Param("totalComments") int totalComments,
+                       @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ModelComparisonRun r SET r.processedComments = :processedComments, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = ma.code212.gateway.enums.JobStatus.RUNNING")
+    int updateProgressIfRunning(@Param("id") UUID id,
+                                @Param("processedComments") int processedComments,
+                                @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ModelComparisonRun r SET r.status = ma.code212.gateway.enums.JobStatus.COMPLETED, r.report = :report, " +
+           "r.endTime = :now, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = ma.code212.gateway.enums.JobStatus.RUNNING")
+    int completeIfRunning(@Param("id") UUID id,
+                          @Param("report") Map<String, Object> report,
+                          @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ModelComparisonRun r SET r.status = ma.code212.gateway.enums.JobStatus.FAILED, r.errors = :errors, " +
+           "r.endTime = :now, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status IN :statuses")
+    int failIfIn(@Param("id") UUID id,
+                 @Param("statuses") Collection<JobStatus> statuses,
+                 @Param("errors") String errors,
+                 @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,39 @@
+package ma.code212.gateway.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import ma.code212.gateway.model.User;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Lookups by natural ID, resolved through the second-level natural-id and entity
+ * caches before querying the database. Derived queries such as
+ * {@code findByKeycloakId} always go to the database.
+ */
+@Repository
+@Transactional
+public class NaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Find a user by Keycloak ID
+     */
+    public Optional<User> findUserByKeycloakId(String keycloakId) {
+        return findBySimpleNaturalId(User.class, keycloakId);
+    }
+
+    private <T> Optional<T> findBySimpleNaturalId(Class<T> entityClass, Object naturalId) {
+        if (naturalId == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(entityClass)
+                .loadOptional(naturalId);
+    }
+}
@@ -1,13 +1,17 @@
 package ma.code212.gateway.repository;
 
+import ma.code212.gateway.dto.ScrapingJobSummaryDto;
 import ma.code212.gateway.model.ScrapingJob;
 import ma.code212.gateway.model.User;
 import ma.code212.gateway.enums.JobStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,4 +29,59 @@ public interface ScrapingJobRepository extends JpaRepository<ScrapingJob, UUID>
     List<ScrapingJob> findByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") JobStatus status);
     
     long countByStatus(JobStatus status);
+    
+    @Query("SELECT new ma.code212.gateway.dto.ScrapingJobSummaryDto(s.id, s.status, s.startTime, s.endTime, s.targetUrl, " +
+           "s.pagesScraped, s.commentsFound, s.createdAt, s.updatedAt) " +
+           "FROM ScrapingJob s WHERE s.user.id = :userId ORDER BY s.createdAt DESC")
+    List<ScrapingJobSummaryDto> findSummariesByUserId(@Param("userId") UUID userId);
+    
+    @Query("SELECT new ma.code212.gateway.dto.ScrapingJobSummaryDto(s.id, s.status, s.startTime, s.endTime, s.targetUrl, " +
+           "s.pagesScraped, s.commentsFound, s.createdAt, s.updatedAt) " +
+           "FROM ScrapingJob s WHERE s.user.id = :userId AND s.status = :status ORDER BY s.createdAt DESC")
+    List<ScrapingJobSummaryDto> findSummariesByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") JobStatus status);
+    
+    /**
+     * Jobs per target URL since a given time, most requested first
+     */
+    @Query("SELECT s.targetUrl AS targetUrl, COUNT(s) AS requests FROM ScrapingJob s " +
+           "WHERE s.createdAt >= :since GROUP BY s.targetUrl ORDER BY COUNT(s) DESC")
+    List<UrlRequestCount> countRequestsByTargetUrlSince(@Param("since") LocalDateTime since);
+    
+    // State transitions by ID without loading the job. Each only applies while the job
+    // is still in the expected state and returns 0 otherwise.
+    
+    @Modifying
+    @Query("UPDATE ScrapingJob s SET s.status = ma.code212.gateway.enums.JobStatus.COMPLETED, s.endTime = :now, " +
+           "s.pagesScraped = :pagesScraped, s.commentsFound = :commentsFound, s.updatedAt = :now " +
+           "WHERE s.id = :id AND s.status = ma.code212.gateway.enums.JobStatus.RUNNING")
+    int completeIfRunning(@Param("id") UUID id,
+                          @Param("pagesScraped") int pagesScraped,
+                          @Param("commentsFound") int commentsFound,
+                          @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ScrapingJob s SET s.status = :status, s.endTime = :now, s.errors = COALESCE(:errors, s.errors), s.updatedAt = :now " +
+           "WHERE s.id = :id AND s.status IN :from")
+    int finishIfIn(@Param("id") UUID id,
+                   @Param("from") Collection<JobStatus> from,
+                   @Param("status") JobStatus status,
+                   @Param("errors") String errors,
+                   @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ScrapingJob s SET s.pagesScraped = :pagesScraped, s.commentsFound = :commentsFound, s.updatedAt = :now " +
+           "WHERE s.id = :id AND s.status = ma.code212.gateway.enums.JobStatus.RUNNING")
+    int updateProgressIfRunning(@Param("id") UUID id,
+                                @Param("pagesScraped") int pagesScraped,
+                                @Param("commentsFound") int commentsFound,
+                                @Param("now") LocalDateTime now);
+    
+    /**
+     * Request count of one target URL
+     */
+    interface UrlRequestCount {
+        String getTargetUrl();
+        
+        long getRequests();
+    }
 }
@@ -8,7 +8,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -25,4 +27,18 @@ public interface SentimentAnalysisResultRepository extends JpaRepository<Sentime
     
     @Query("SELECT s FROM SentimentAnalysisResult s WHERE s.comment.id = :commentId AND s.modelName = :modelName")
     List<SentimentAnalysisResult> findByCommentIdAndModelName(@Param("commentId") UUID commentId, @Param("modelName") String modelName);
+    
+    /**
+     * Latest result per comment for the model, through latest_results
+     */
+    @Query("SELECT s FROM SentimentAnalysisResult s, LatestSentimentResult l " +
+           "WHERE l.resultId = s.id AND l.id.commentId IN :commentIds AND l.id.modelName = :modelName")
+    List<SentimentAnalysisResult> findLatestByCommentIdsAndModelName(@Param("commentIds") Collection<UUID> commentIds, @Param("modelName") String modelName);
+    
+    /**
+     * Latest result for a comment and model, through latest_results
+     */
+    @Query("SELECT s FROM SentimentAnalysisResult s, LatestSentimentResult l " +
+           "WHERE l.resultId = s.id AND l.id.commentId = :commentId AND l.id.modelName = :modelName")
+    Optional<SentimentAnalysisResult> findLatestByCommentIdAndModelName(@Param("commentId") UUID commentId, @Param("modelName") String modelName);
 }
@@ -1,15 +1,27 @@
 package ma.code212.gateway.repository;
 
+import jakarta.persistence.QueryHint;
+import ma.code212.gateway.dto.UserDto;
+import ma.code212.gateway.dto.UserProfileDto;
 import ma.code212.gateway.model.User;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     
+    // Query cache region of the per-request profile lookups, see HibernateCacheConfig
+    String QUERY_CACHE_REGION = "user-queries";
+    
     Optional<User> findByEmail(String email);
     
     Optional<User> findByUsername(String username);
@@ -19,4 +31,50 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByEmail(String email);
     
     boolean existsByUsername(String username);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query("SELECT new ma.code212.gateway.dto.UserDto(u.id, u.keycloakId, u.username, u.email, u.firstName, u.lastName) " +
+           "FROM User u WHERE u.keycloakId = :keycloakId")
+    Optional<UserDto> findDtoByKeycloakId(@Param("keycloakId") String keycloakId);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query("SELECT new ma.code212.gateway.dto.UserProfileDto(u.keycloakId, u.email, u.firstName, u.lastName, u.isActive, u.lastLogin, u.createdAt) " +
+           "FROM User u WHERE u.keycloakId = :keycloakId")
+    Optional<UserProfileDto> findProfileByKeycloakId(@Param("keycloakId") String keycloakId);
+    
+    @Query("SELECT new ma.code212.gateway.dto.UserProfileDto(u.keycloakId, u.email, u.firstName, u.lastName, u.isActive, u.lastLogin, u.createdAt) " +
+           "FROM User u WHERE u.email = :email")
+    Optional<UserProfileDto> findProfileByEmail(@Param("email") String email);
+    
+    /**
+     * Insert the user unless one with the same Keycloak ID exists, and return the
+     * inserted or existing row in the same statement. Empty when the existing row
+     * was committed by a concurrent transaction after this statement started; it
+     * is then visible to the next statement.
+     */
+    @Transactional
+    @Query(value = """
+            WITH inserted AS (
+                INSERT INTO users (id, email, username, first_name, last_name, role, is_active, keycloak_id, created_at, updated_at)
+                VALUES (:id, :email, :username, :firstName, :lastName, 'USER', true, :keycloakId, :now, :now)
+                ON CONFLICT (keycloak_id) DO NOTHING
+                RETURNING *)
+            SELECT * FROM inserted
+            UNION ALL
+            SELECT * FROM users WHERE keycloak_id = :keycloakId
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<User> insertIfAbsent(@Param("id") UUID id,
+                                  @Param("email") String email,
+                                  @Param("username") String username,
+                                  @Param("firstName") String firstName,
+                                  @Param("lastName") String lastName,
+                                  @Param("keycloakId") String keycloakId,
+                                  @Param("now") LocalDateTime now);
 }
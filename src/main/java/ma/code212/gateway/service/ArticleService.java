@@ -19,34 +19,30 @@ import java.util.UUID;
 public class ArticleService {
 
     private final ArticleRepository articleRepository;
+    private final UrlCanonicalizer urlCanonicalizer;
 
     /**
-     * Find or create an article by URL and user
+     * Find or create an article by URL and user in one statement. URLs with the
+     * same canonical form resolve to the same article, and concurrent scrapes of
+     * a new article all get the row that won the insert.
      */
     @Transactional
     public Article findOrCreateArticle(String url, String title, User user) {
         log.info("Finding or creating article for URL: {}", url);
         
-        Optional<Article> existingArticle = articleRepository.findByUrl(url);
+        String canonicalUrl = urlCanonicalizer.canonicalize(url);
+        UUID newId = UUID.randomUUID();
+        Article article = articleRepository.insertIfAbsent(newId, user.getId(), title, url, canonicalUrl, LocalDateTime.now())
+                .or(() -> articleRepository.findByCanonicalUrl(canonicalUrl))
+                .orElseThrow(() -> new IllegalStateException("Article not found after insert for URL: " + canonicalUrl));
         
-        if (existingArticle.isPresent()) {
-            log.info("Article already exists for URL: {}", url);
-            return existingArticle.get();
+        if (newId.equals(article.getId())) {
+            log.info("Created new article with ID: {}", newId);
+        } else {
+            log.info("Article already exists for URL: {}", canonicalUrl);
         }
         
-        // Create new article
-        Article newArticle = Article.builder()
-                .url(url)
-                .title(title)
-                .user(user)
-                .totalComments(0)
-                .scrapedAt(LocalDateTime.now())
-                .build();
-        
-        Article savedArticle = articleRepository.save(newArticle);
-        log.info("Created new article with ID: {}", savedArticle.getId());
-        
-        return savedArticle;
+        return article;
     }
 
     /**
@@ -66,10 +62,10 @@ public class ArticleService {
     }
 
     /**
-     * Find article by URL
+     * Find article by URL or any equivalent URL
      */
     public Optional<Article> findByUrl(String url) {
-        return articleRepository.findByUrl(url);
+        return articleRepository.findByCanonicalUrl(urlCanonicalizer.canonicalize(url));
     }
 
     /**
@@ -87,9 +83,9 @@ public class ArticleService {
     }
 
     /**
-     * Check if article exists by URL
+     * Check if article exists by URL or any equivalent URL
      */
     public boolean existsByUrl(String url) {
-        return articleRepository.existsByUrl(url);
+        return articleRepository.existsByCanonicalUrl(urlCanonicalizer.canonicalize(url));
     }
 }
@@ -0,0 +1,199 @@
+package ma.code212.gateway.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.exception.UpstreamUnavailableException;
+import ma.code212.gateway.model.Comment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background stage that classifies newly scraped comments.
+ * In {@code batch} mode each run claims batches of unprocessed comments with a lease (SKIP LOCKED, so
+ * several gateway instances share the backlog), classifies the distinct texts of
+ * a batch concurrently and stores the results in bulk. Comments whose
+ * classification fails keep their lease and are picked up again once it expires,
+ * up to {@code max-attempts} times; failures caused by FastAPI being unavailable
+ * do not count as attempts.
+ * In {@code reactive} mode runs delegate to {@link ReactiveClassificationPipeline}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutoClassificationService {
+
+    private final CommentService commentService;
+    private final SentimentAnalysisResultService sentimentAnalysisResultService;
+    private final ClassificationCacheService classificationCacheService;
+    private final FastApiService fastApiService;
+    private final ReactiveClassificationPipeline reactivePipeline;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${classification.auto.enabled:true}")
+    private boolean enabled;
+
+    @Value("${classification.auto.mode:batch}")
+    private String mode;
+
+    @Value("${classification.auto.model-name:default_model}")
+    private String modelName;
+
+    @Value("${classification.auto.batch-size:32}")
+    private int batchSize;
+
+    @Value("${classification.auto.concurrency:4}")
+    private int concurrency;
+
+    @Value("${classification.auto.lease:300}")
+    private long leaseSeconds;
+
+    @Value("${classification.auto.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    private final AtomicLong backlog = new AtomicLong();
+
+    private ExecutorService classificationExecutor;
+
+    private Counter classifiedCounter;
+
+    private Counter failedCounter;
+
+    private Timer batchTimer;
+
+    @PostConstruct
+    void initPipeline() {
+        classificationExecutor = Executors.newFixedThreadPool(concurrency);
+
+        Gauge.builder("classification.backlog", backlog, AtomicLong::get)
+                .description("Comments waiting for classification, sampled on each pipeline run")
+                .register(meterRegistry);
+        classifiedCounter = Counter.builder("classification.auto.comments")
+                .tag("outcome", "classified")
+                .description("Comments classified by the background pipeline")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("classification.auto.comments")
+                .tag("outcome", "failed")
+                .description("Comments left for retry after a failed classification")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("classification.auto.batch")
+                .description("Time to classify and store one claimed batch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdownPipeline() {
+        classificationExecutor.shutdownNow();
+    }
+
+    /**
+     * Drain up to {@code max-batches-per-run} batches of the unprocessed backlog
+     */
+    @Scheduled(
+        initialDelayString = "${classification.auto.interval:5000}",
+        fixedDelayString = "${classification.auto.interval:5000}"
+    )
+    public void processBacklog() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            backlog.set(commentService.countUnprocessed());
+            if (backlog.get() == 0) {
+                return;
+            }
+
+            if ("reactive".equalsIgnoreCase(mode)) {
+                // Runs until the backlog is drained without holding the scheduler thread
+                reactivePipeline.drain().subscribe(
+                        result -> backlog.set(commentService.countUnprocessed()),
+                        e -> log.error("Reactive classification drain failed, Error: {}", e.getMessage(), e));
+                return;
+            }
+
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<Comment> claimed = commentService.claimUnprocessedComments(batchSize, leaseSeconds);
+                if (claimed.isEmpty()) {
+                    break;
+                }
+                Timer.Sample sample = Timer.start(meterRegistry);
+                boolean upstreamAvailable = processBatch(claimed);
+                sample.stop(batchTimer);
+                if (!upstreamAvailable) {
+                    log.warn("FastAPI unavailable, pausing auto-classification until the next run");
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Auto-classification run failed, Error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Classify one claimed batch, returning false when FastAPI rejected calls as unavailable
+     */
+    private boolean processBatch(List<Comment> comments) {
+        // Identical texts in a batch are classified once
+        Map<String, List<Comment>> commentsByContent = new LinkedHashMap<>();
+        for (Comment comment : comments) {
+            commentsByContent.computeIfAbsent(comment.getContent(), content -> new ArrayList<>()).add(comment);
+        }
+
+        Map<String, CompletableFuture<FastApiService.Classification>> futures = new LinkedHashMap<>();
+        commentsByContent.keySet().forEach(content -> futures.put(content, CompletableFuture.supplyAsync(
+                () -> classificationCacheService.getOrClassify(content, modelName, () -> fastApiService.classify(content, modelName)),
+                classificationExecutor)));
+
+        List<Map.Entry<Comment, FastApiService.Classification>> classified = new ArrayList<>(comments.size());
+        List<UUID> failedIds = new ArrayList<>();
+        boolean upstreamAvailable = true;
+        int failed = 0;
+
+        for (Map.Entry<String, CompletableFuture<FastApiService.Classification>> entry : futures.entrySet()) {
+            List<Comment> sameContent = commentsByContent.get(entry.getKey());
+            try {
+                FastApiService.Classification classification = entry.getValue().join();
+                sameContent.forEach(comment -> classified.add(new AbstractMap.SimpleEntry<>(comment, classification)));
+            } catch (CompletionException e) {
+                failed += sameContent.size();
+                if (e.getCause() instanceof UpstreamUnavailableException) {
+                    upstreamAvailable = false;
+                } else {
+                    sameContent.forEach(comment -> failedIds.add(comment.getId()));
+                    log.warn("Failed to classify {} comments, Error: {}", sameContent.size(), e.getMessage());
+                }
+            }
+        }
+
+        if (!classified.isEmpty()) {
+            sentimentAnalysisResultService.createSentimentAnalysisResults(modelName, classified);
+            classifiedCounter.increment(classified.size());
+            backlog.addAndGet(-classified.size());
+        }
+        commentService.recordClassificationFailure(failedIds);
+        failedCounter.increment(failed);
+
+        log.info("Auto-classified {}/{} claimed comments with model: {}", classified.size(), comments.size(), modelName);
+        return upstreamAvailable;
+    }
+}
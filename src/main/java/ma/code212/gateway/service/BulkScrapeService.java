@@ -0,0 +1,411 @@
+package ma.code212.gateway.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.dto.BulkScrapeItemResult;
+import ma.code212.gateway.dto.BulkScrapeResponse;
+import ma.code212.gateway.dto.ScrapeCommentsRequest;
+import ma.code212.gateway.enums.JobStatus;
+import ma.code212.gateway.model.Article;
+import ma.code212.gateway.model.ScrapingJob;
+import ma.code212.gateway.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Scrapes comments for many articles at once.
+ * Cache hits are resolved with one batched Redis lookup, cache misses are fanned
+ * out to FastAPI with a global concurrency limit and per-host politeness, and
+ * comments are persisted in chunks of {@code scraping.bulk.persist-batch-size} URLs,
+ * one transaction per chunk.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkScrapeService {
+
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private static final String BATCH_KEY_PREFIX = "bulk-scrape:";
+
+    private final FastApiService fastApiService;
+    private final ScrapingCacheService scrapingCacheService;
+    private final ScrapingJobService scrapingJobService;
+    private final ArticleService articleService;
+    private final CommentService commentService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final UrlCanonicalizer urlCanonicalizer;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${scraping.bulk.concurrency:4}")
+    private int concurrency;
+
+    @Value("${scraping.bulk.per-host-concurrency:1}")
+    private int perHostConcurrency;
+
+    @Value("${scraping.bulk.per-host-delay:1000}")
+    private long perHostDelayMillis;
+
+    @Value("${scraping.bulk.persist-batch-size:20}")
+    private int persistBatchSize;
+
+    @Value("${scraping.bulk.batch-ttl:86400}")
+    private long batchTtlSeconds;
+
+    private final Map<String, HostGate> hostGates = new ConcurrentHashMap<>();
+
+    private ExecutorService scrapeExecutor;
+
+    private ExecutorService batchExecutor;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void initExecutors() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Scrapes run in the trace of the request that submitted them
+        scrapeExecutor = ContextExecutorService.wrap(Executors.newFixedThreadPool(concurrency), CONTEXT_SNAPSHOTS::captureAll);
+        batchExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @PreDestroy
+    void shutdownExecutors() {
+        batchExecutor.shutdownNow();
+        scrapeExecutor.shutdownNow();
+    }
+
+    /**
+     * Scrape all items and return the per-URL summary
+     */
+    public BulkScrapeResponse scrape(User user, List<ScrapeCommentsRequest> items) {
+        return process(UUID.randomUUID(), user, items);
+    }
+
+    /**
+     * Queue a batch for background processing and return its initial status
+     */
+    public BulkScrapeResponse submit(User user, List<ScrapeCommentsRequest> items) {
+        UUID batchId = UUID.randomUUID();
+
+        BulkScrapeResponse pending = BulkScrapeResponse.builder()
+                .status("success")
+                .message("Bulk scrape accepted")
+                .batchId(batchId)
+                .batchStatus(JobStatus.PENDING)
+                .userId(user.getId())
+                .totalUrls(items.size())
+                .results(List.of())
+                .timestamp(LocalDateTime.now().toString())
+                .build();
+        saveBatch(pending);
+
+        batchExecutor.submit(() -> {
+            try {
+                saveBatch(process(batchId, user, items));
+            } catch (Exception e) {
+                log.error("Bulk scrape batch {} failed: {}", batchId, e.getMessage(), e);
+                saveBatch(BulkScrapeResponse.builder()
+                        .status("error")
+                        .message("Bulk scrape failed: " + e.getMessage())
+                        .batchId(batchId)
+                        .batchStatus(JobStatus.FAILED)
+                        .userId(user.getId())
+                        .totalUrls(items.size())
+                        .results(List.of())
+                        .timestamp(LocalDateTime.now().toString())
+                        .build());
+            }
+        });
+
+        return pending;
+    }
+
+    /**
+     * Find the stored status of an asynchronous batch
+     */
+    public Optional<BulkScrapeResponse> findBatch(UUID batchId) {
+        Object stored = redisTemplate.opsForValue().get(BATCH_KEY_PREFIX + batchId);
+        return Optional.ofNullable(stored)
+                .map(value -> objectMapper.convertValue(value, BulkScrapeResponse.class));
+    }
+
+    private BulkScrapeResponse process(UUID batchId, User user, List<ScrapeCommentsRequest> items) {
+        // Deduplicate by canonical URL, keeping the first URL and title
+        Set<String> canonicalUrls = new HashSet<>();
+        Map<String, String> titlesByUrl = new LinkedHashMap<>();
+        for (ScrapeCommentsRequest item : items) {
+            if (canonicalUrls.add(urlCanonicalizer.canonicalize(item.getUrl()))) {
+                titlesByUrl.put(item.getUrl(), item.getTitle());
+            }
+        }
+        List<String> urls = new ArrayList<>(titlesByUrl.keySet());
+
+        log.info("Processing bulk scrape {} with {} URLs", batchId, urls.size());
+
+        Map<String, BulkScrapeItemResult> results = new LinkedHashMap<>();
+        for (String url : urls) {
+            results.put(url, BulkScrapeItemResult.builder()
+                    .url(url)
+                    .build());
+        }
+
+        // Resolve cache hits with one MGET, stale entries are served while a background refresh runs
+        Map<String, ScrapingCacheService.ScrapedCommentsCache> cached = scrapingCacheService.getCachedCommentsBatchWithRevalidation(
+                urls, fastApiService::scrapeComments);
+
+        // Cache misses run a job, created directly in RUNNING state
+        Map<String, ScrapingJob> jobs = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (!cached.containsKey(url)) {
+                ScrapingJob job = scrapingJobService.startScrapingJob(user, url, jobConfiguration(batchId, titlesByUrl.get(url)));
+                jobs.put(url, job);
+                results.get(url).setScrapingJobId(job.getId());
+            }
+        }
+
+        // Fan out cache misses to FastAPI
+        Map<String, Future<FastApiService.ScrapedComments>> pendingScrapes = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (!cached.containsKey(url)) {
+                pendingScrapes.put(url, scrapeExecutor.submit(() -> scrapePolitely(url)));
+            }
+        }
+
+        Map<String, FastApiService.ScrapedComments> scraped = new LinkedHashMap<>();
+        cached.forEach((url, entry) -> scraped.put(url, FastApiService.ScrapedComments.builder()
+                .comments(entry.getComments())
+                .totalComments(entry.getTotalComments())
+                .build()));
+
+        for (Map.Entry<String, Future<FastApiService.ScrapedComments>> pending : pendingScrapes.entrySet()) {
+            String url = pending.getKey();
+            try {
+                FastApiService.ScrapedComments comments = pending.getValue().get();
+                scrapingCacheService.cacheScrapedComments(url, comments.getComments(), comments.getTotalComments());
+                scraped.put(url, comments);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                markFailed(url, jobs, results, "Interrupted");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                markFailed(url, jobs, results, cause.getMessage());
+            }
+        }
+
+        // Persist in chunks of URLs
+        List<String> succeeded = urls.stream().filter(scraped::containsKey).toList();
+        for (int from = 0; from < succeeded.size(); from += persistBatchSize) {
+            List<String> chunk = succeeded.subList(from, Math.min(from + persistBatchSize, succeeded.size()));
+            try {
+                persistChunk(batchId, user, chunk, titlesByUrl, scraped, cached, jobs, results);
+            } catch (Exception e) {
+                log.error("Failed to persist bulk scrape chunk: {}", e.getMessage(), e);
+                chunk.forEach(url -> markFailed(url, jobs, results, "Failed to save comments: " + e.getMessage()));
+            }
+        }
+
+        List<BulkScrapeItemResult> resultList = new ArrayList<>(results.values());
+        int failed = (int) resultList.stream().filter(result -> "error".equals(result.getStatus())).count();
+        int cacheHits = (int) resultList.stream().filter(BulkScrapeItemResult::isFromCache).count();
+
+        log.info("Bulk scrape {} finished: {} URLs, {} cache hits, {} failed", batchId, urls.size(), cacheHits, failed);
+        evictIdleHostGates();
+
+        return BulkScrapeResponse.builder()
+                .status("success")
+                .message(String.format("Bulk scrape processed %d URLs (%d failed)", urls.size(), failed))
+                .batchId(batchId)
+                .batchStatus(JobStatus.COMPLETED)
+                .userId(user.getId())
+                .totalUrls(urls.size())
+                .cacheHits(cacheHits)
+                .scraped(resultList.size() - failed - cacheHits)
+                .failed(failed)
+                .results(resultList)
+                .timestamp(LocalDateTime.now().toString())
+                .build();
+    }
+
+    /**
+     * Save the chunk's articles, comments and comment totals in one transaction,
+     * so a failing chunk leaves nothing behind, then complete its jobs
+     */
+    private void persistChunk(UUID batchId, User user, List<String> chunk, Map<String, String> titlesByUrl,
+                              Map<String, FastApiService.ScrapedComments> scraped,
+                              Map<String, ScrapingCacheService.ScrapedCommentsCache> cached,
+                              Map<String, ScrapingJob> jobs, Map<String, BulkScrapeItemResult> results) {
+
+        Map<String, Article> articles = new LinkedHashMap<>();
+        Map<UUID, Long> savedPerArticle = transactionTemplate.execute(status -> {
+            List<Map.Entry<Article, List<String>>> commentsByArticle = new ArrayList<>();
+            for (String url : chunk) {
+                Article article = articleService.findOrCreateArticle(url, titlesByUrl.get(url), user);
+                articles.put(url, article);
+                commentsByArticle.add(Map.entry(article, scraped.get(url).getComments()));
+            }
+
+            Map<UUID, Long> saved = commentService.createCommentsForArticles(commentsByArticle).stream()
+                    .collect(Collectors.groupingBy(comment -> comment.getArticle().getId(), Collectors.counting()));
+
+            for (String url : chunk) {
+                articleService.updateTotalComments(articles.get(url).getId(), scraped.get(url).getTotalComments());
+            }
+            return saved;
+        });
+
+        for (String url : chunk) {
+            Article article = articles.get(url);
+            FastApiService.ScrapedComments comments = scraped.get(url);
+
+            BulkScrapeItemResult result = results.get(url);
+            ScrapingJob job = jobs.get(url);
+            if (job != null) {
+                scrapingJobService.completeScrapingJob(job, 1, comments.getComments().size());
+            } else {
+                scrapingJobService.recordCachedScrapingJob(user, url, jobConfiguration(batchId, titlesByUrl.get(url)),
+                                1, comments.getComments().size())
+                        .ifPresent(cachedJob -> result.setScrapingJobId(cachedJob.getId()));
+            }
+            result.setStatus("success");
+            result.setFromCache(cached.containsKey(url));
+            result.setArticleId(article.getId());
+            result.setCommentsSaved(savedPerArticle.getOrDefault(article.getId(), 0L).intValue());
+            result.setTotalComments(comments.getTotalComments());
+        }
+    }
+
+    private void markFailed(String url, Map<String, ScrapingJob> jobs, Map<String, BulkScrapeItemResult> results, String error) {
+        log.warn("Bulk scrape failed for URL: {}, Error: {}", url, error);
+        ScrapingJob job = jobs.get(url);
+        if (job != null) {
+            // A job cancelled or finished meanwhile is left as it is
+            try {
+                scrapingJobService.failScrapingJob(job, error);
+            } catch (Exception e) {
+                log.error("Failed to mark scraping job as failed for URL: {}, Error: {}", url, e.getMessage());
+            }
+        }
+        BulkScrapeItemResult result = results.get(url);
+        result.setStatus("error");
+        result.setError(error);
+    }
+
+    private Map<String, Object> jobConfiguration(UUID batchId, String title) {
+        return Map.of(
+            "title", title,
+            "userAgent", "Spring-Gateway-Bot",
+            "bulkBatchId", batchId.toString()
+        );
+    }
+
+    /**
+     * Scrape a URL while holding its host's permit and spacing requests to the
+     * same host at least {@code per-host-delay} milliseconds apart
+     */
+    private FastApiService.ScrapedComments scrapePolitely(String url) throws InterruptedException {
+        String host = hostOf(url);
+        HostGate gate = hostGates.compute(host, (key, existing) -> {
+            HostGate acquired = existing != null ? existing : new HostGate(perHostConcurrency);
+            acquired.users++;
+            return acquired;
+        });
+
+        try {
+            gate.permits.acquire();
+            long waitMillis;
+            synchronized (gate) {
+                long now = System.currentTimeMillis();
+                long startAt = Math.max(now, gate.nextAllowedAt);
+                gate.nextAllowedAt = startAt + perHostDelayMillis;
+                waitMillis = startAt - now;
+            }
+            if (waitMillis > 0) {
+                Thread.sleep(waitMillis);
+            }
+            try {
+                return fastApiService.scrapeComments(url);
+            } finally {
+                gate.permits.release();
+            }
+        } finally {
+            hostGates.computeIfPresent(host, (key, existing) -> {
+                existing.users--;
+                return existing.isIdle() ? null : existing;
+            });
+        }
+    }
+
+    /**
+     * Drop gates of hosts that are no longer scraped and whose politeness delay
+     * has passed. Gates still in their delay are dropped by a later batch.
+     */
+    private void evictIdleHostGates() {
+        for (String host : hostGates.keySet()) {
+            hostGates.computeIfPresent(host, (key, existing) -> existing.isIdle() ? null : existing);
+        }
+    }
+
+    private String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host.toLowerCase() : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private void saveBatch(BulkScrapeResponse batch) {
+        try {
+            redisTemplate.opsForValue().set(BATCH_KEY_PREFIX + batch.getBatchId(), batch, Duration.ofSeconds(batchTtlSeconds));
+        } catch (Exception e) {
+            log.error("Failed to store bulk scrape batch {}: {}", batch.getBatchId(), e.getMessage(), e);
+        }
+    }
+
+    private static class HostGate {
+        private final Semaphore permits;
+        private long nextAllowedAt;
+        // Scrapes holding or waiting for the gate, only changed inside map compute calls
+        private int users;
+
+        HostGate(int concurrency) {
+            this.permits = new Semaphore(Math.max(1, concurrency));
+        }
+
+        /**
+         * No scrape uses the gate and dropping it cannot shorten the delay before
+         * the next request to the host
+         */
+        synchronized boolean isIdle() {
+            return users == 0 && nextAllowedAt <= System.currentTimeMillis();
+        }
+    }
+}
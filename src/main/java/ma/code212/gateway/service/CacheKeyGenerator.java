@@ -0,0 +1,103 @@
+package ma.code212.gateway.service;
+
+import org.springframework.stereotype.Component;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Derives Redis keys of the form {@code prefix:sha256hex(value)}.
+ * Digests and scratch buffers are reused per thread and the value is UTF-8
+ * encoded by hand, so the only allocations per key are the key string itself.
+ */
+@Component
+public class CacheKeyGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final int DIGEST_LENGTH = 32;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Key for the value under the prefix, e.g. {@code scraping:3f1a...}
+     */
+    public String sha256Key(String prefix, String value) {
+        Scratch scratch = SCRATCH.get();
+        int length = scratch.encodeUtf8(value);
+
+        MessageDigest digest = scratch.digest;
+        digest.update(scratch.input, 0, length);
+        try {
+            digest.digest(scratch.hash, 0, DIGEST_LENGTH);
+        } catch (DigestException e) {
+            throw new IllegalStateException("Failed to compute SHA-256 digest", e);
+        }
+
+        int prefixLength = prefix.length();
+        char[] key = new char[prefixLength + 1 + DIGEST_LENGTH * 2];
+        prefix.getChars(0, prefixLength, key, 0);
+        key[prefixLength] = ':';
+        int position = prefixLength + 1;
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            int b = scratch.hash[i] & 0xff;
+            key[position++] = HEX[b >>> 4];
+            key[position++] = HEX[b & 0x0f];
+        }
+        return new String(key);
+    }
+
+    /**
+     * Per-thread digest and buffers
+     */
+    private static class Scratch {
+        private final MessageDigest digest;
+        private final byte[] hash = new byte[DIGEST_LENGTH];
+        private byte[] input = new byte[1024];
+
+        Scratch() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        /**
+         * Encode the value as UTF-8 into the input buffer, growing it when needed.
+         * Unpaired surrogates are encoded as '?', like String.getBytes.
+         */
+        int encodeUtf8(String value) {
+            int length = value.length();
+            if (input.length < length * 3) {
+                input = new byte[Math.max(length * 3, input.length * 2)];
+            }
+
+            byte[] out = input;
+            int position = 0;
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    out[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    out[position++] = (byte) (0xc0 | (c >> 6));
+                    out[position++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    out[position++] = (byte) (0xf0 | (codePoint >> 18));
+                    out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                    out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                    out[position++] = (byte) (0x80 | (codePoint & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    out[position++] = '?';
+                } else {
+                    out[position++] = (byte) (0xe0 | (c >> 12));
+                    out[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    out[position++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+            return position;
+        }
+    }
+}
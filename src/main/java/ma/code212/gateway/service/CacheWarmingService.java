@@ -0,0 +1,152 @@
+package ma.code212.gateway.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pre-populates the scraping cache for the most requested article URLs.
+ * Startup warming runs as an ApplicationRunner, so the application only
+ * reports readiness once it has finished (or timed out).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmingService implements ApplicationRunner {
+
+    private final ScrapingJobService scrapingJobService;
+    private final ScrapingCacheService scrapingCacheService;
+    private final FastApiService fastApiService;
+
+    @Value("${cache.warming.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.warming.top-n:50}")
+    private int topN;
+
+    @Value("${cache.warming.lookback-hours:24}")
+    private long lookbackHours;
+
+    @Value("${cache.warming.concurrency:2}")
+    private int concurrency;
+
+    @Value("${cache.warming.startup-timeout:120}")
+    private long startupTimeoutSeconds;
+
+    @Value("${cache.warming.refresh-threshold:300}")
+    private long refreshThresholdSeconds;
+
+    @Value("${cache.warming.refresh-timeout:240}")
+    private long refreshTimeoutSeconds;
+
+    /**
+     * Warm the cache for hot URLs that are not cached yet
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("Cache warming is disabled");
+            return;
+        }
+
+        List<String> missingUrls = scrapingCacheService.isCachedBatch(findHotUrls()).entrySet().stream()
+                .filter(entry -> !entry.getValue())
+                .map(Map.Entry::getKey)
+                .toList();
+
+        log.info("Warming scraping cache for {} hot URLs before reporting readiness", missingUrls.size());
+        int warmed = warmUrls(missingUrls, startupTimeoutSeconds);
+        log.info("Startup cache warming finished: {}/{} URLs cached", warmed, missingUrls.size());
+    }
+
+    /**
+     * Refresh hot URLs whose cache entries are missing or about to go stale
+     */
+    @Scheduled(
+        initialDelayString = "${cache.warming.refresh-interval:300000}",
+        fixedDelayString = "${cache.warming.refresh-interval:300000}"
+    )
+    public void refreshExpiringEntries() {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> hotUrls = findHotUrls();
+        Map<String, ScrapingCacheService.ScrapedCommentsCache> cached = scrapingCacheService.getCachedCommentsBatch(hotUrls);
+        List<String> expiringUrls = hotUrls.stream()
+                .filter(url -> isMissingOrExpiring(cached.get(url)))
+                .toList();
+
+        if (expiringUrls.isEmpty()) {
+            log.debug("No hot cache entries near expiry");
+            return;
+        }
+
+        log.info("Refreshing {} hot cache entries near expiry", expiringUrls.size());
+        int refreshed = warmUrls(expiringUrls, refreshTimeoutSeconds);
+        log.info("Scheduled cache refresh finished: {}/{} URLs refreshed", refreshed, expiringUrls.size());
+    }
+
+    private List<String> findHotUrls() {
+        try {
+            LocalDateTime since = LocalDateTime.now().minusHours(lookbackHours);
+            return scrapingJobService.findMostRequestedUrls(since, topN);
+        } catch (Exception e) {
+            log.error("Failed to load hot URLs for cache warming, Error: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    private boolean isMissingOrExpiring(ScrapingCacheService.ScrapedCommentsCache cached) {
+        return cached == null || scrapingCacheService.getSecondsUntilStale(cached) < refreshThresholdSeconds;
+    }
+
+    /**
+     * Scrape and cache URLs with at most {@code concurrency} concurrent FastAPI calls
+     */
+    private int warmUrls(List<String> urls, long timeoutSeconds) {
+        if (urls.isEmpty()) {
+            return 0;
+        }
+
+        AtomicInteger warmed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, urls.size())));
+
+        for (String url : urls) {
+            executor.submit(() -> {
+                try {
+                    FastApiService.ScrapedComments scraped = fastApiService.scrapeCommentsForWarming(url);
+                    scrapingCacheService.cacheScrapedComments(url, scraped.getComments(), scraped.getTotalComments());
+                    warmed.incrementAndGet();
+                } catch (Exception e) {
+                    log.warn("Failed to warm cache for URL: {}, Error: {}", url, e.getMessage());
+                }
+            });
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("Cache warming did not finish within {} seconds, abandoning remaining URLs", timeoutSeconds);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        return warmed.get();
+    }
+}
@@ -0,0 +1,171 @@
+package ma.code212.gateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of classification results keyed by normalized comment content and model name.
+ * An in-process Caffeine cache fronts Redis, so the same text (spam, slogans,
+ * re-scraped duplicates) is only sent to the model once per model.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClassificationCacheService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final CacheKeyGenerator cacheKeyGenerator;
+
+    @Value("${cache.classification.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.classification.ttl:604800}")
+    private long ttlSeconds;
+
+    @Value("${cache.classification.key-prefix:classification}")
+    private String keyPrefix;
+
+    @Value("${cache.classification.local.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${cache.classification.local.ttl:600}")
+    private long localTtlSeconds;
+
+    private Cache<String, FastApiService.Classification> localCache;
+
+    private Counter redisHitCounter;
+
+    private Counter redisMissCounter;
+
+    private Timer lookupTimer;
+
+    @PostConstruct
+    void initLocalCache() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "classification.local");
+
+        redisHitCounter = Counter.builder("classification.cache.redis")
+                .tag("result", "hit")
+                .description("Classification lookups answered by Redis after a local miss")
+                .register(meterRegistry);
+        redisMissCounter = Counter.builder("classification.cache.redis")
+                .tag("result", "miss")
+                .description("Classification lookups that missed both cache tiers")
+                .register(meterRegistry);
+        lookupTimer = Timer.builder("classification.cache.lookup")
+                .description("Latency of classification cache lookups across both tiers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached classification for the content and model, or classify it
+     * with {@code classifier} and cache the result
+     */
+    public FastApiService.Classification getOrClassify(String content, String modelName,
+                                                        Supplier<FastApiService.Classification> classifier) {
+        if (!enabled) {
+            return classifier.get();
+        }
+
+        String cacheKey = generateCacheKey(content, modelName);
+        FastApiService.Classification cached = getCachedClassification(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        FastApiService.Classification classification = classifier.get();
+        cacheClassification(cacheKey, classification);
+        return classification;
+    }
+
+    /**
+     * Get a cached classification for the content and model
+     */
+    public FastApiService.Classification getCachedClassification(String content, String modelName) {
+        return enabled ? getCachedClassification(generateCacheKey(content, modelName)) : null;
+    }
+
+    /**
+     * Cache a classification for the content and model
+     */
+    public void cacheClassification(String content, String modelName, FastApiService.Classification classification) {
+        if (enabled) {
+            cacheClassification(generateCacheKey(content, modelName), classification);
+        }
+    }
+
+    private FastApiService.Classification getCachedClassification(String cacheKey) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return lookup(cacheKey);
+        } finally {
+            sample.stop(lookupTimer);
+        }
+    }
+
+    private FastApiService.Classification lookup(String cacheKey) {
+        FastApiService.Classification local = localCache.getIfPresent(cacheKey);
+        if (local != null) {
+            return local;
+        }
+
+        try {
+            Object cached = redisTemplate.opsForValue().get(cacheKey);
+            if (cached instanceof FastApiService.Classification classification) {
+                redisHitCounter.increment();
+                localCache.put(cacheKey, classification);
+                return classification;
+            }
+        } catch (Exception e) {
+            log.error("Failed to read cached classification for key: {}, Error: {}", cacheKey, e.getMessage(), e);
+        }
+
+        redisMissCounter.increment();
+        return null;
+    }
+
+    private void cacheClassification(String cacheKey, FastApiService.Classification classification) {
+        localCache.put(cacheKey, classification);
+        try {
+            redisTemplate.opsForValue().set(cacheKey, classification, Duration.ofSeconds(ttlSeconds));
+        } catch (Exception e) {
+            log.error("Failed to cache classification for key: {}, Error: {}", cacheKey, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Normalize comment text so trivially different copies share a key:
+     * Unicode NFKC, collapsed whitespace, trimmed. Case is kept since it can
+     * carry sentiment.
+     */
+    static String normalize(String content) {
+        String normalized = Normalizer.normalize(content, Normalizer.Form.NFKC);
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private String generateCacheKey(String content, String modelName) {
+        return cacheKeyGenerator.sha256Key(keyPrefix + ":" + modelName, normalize(content));
+    }
+}
@@ -2,15 +2,21 @@ package ma.code212.gateway.service;
 
 import ma.code212.gateway.model.Article;
 import ma.code212.gateway.model.Comment;
+import ma.code212.gateway.dto.CommentWithLatestResultDto;
 import ma.code212.gateway.repository.CommentRepository;
+import ma.code212.gateway.repository.CommentResultQueryRepository;
 import ma.code212.gateway.enums.Sentiment;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,6 +26,10 @@ import java.util.UUID;
 public class CommentService {
 
     private final CommentRepository commentRepository;
+    private final CommentResultQueryRepository commentResultQueryRepository;
+
+    @Value("${classification.auto.max-attempts:5}")
+    private int maxClassificationAttempts;
 
     /**
      * Create a new comment
@@ -47,22 +57,49 @@ public class CommentService {
      * Create multiple comments for an article
      */
     @Transactional
+    @Timed(value = "comments.batch.insert", extraTags = {"scope", "article"})
     public List<Comment> createComments(List<String> comments, Article article) {
         log.info("Creating {} comments for article ID: {}", comments.size(), article.getId());
         
-        List<Comment> commentEntities = comments.stream()
+        List<Comment> commentEntities = buildComments(comments, article, LocalDateTime.now());
+        
+        List<Comment> savedComments = commentRepository.saveAll(commentEntities);
+        log.info("Successfully created {} comments", savedComments.size());
+        
+        return savedComments;
+    }
+
+    /**
+     * Create comments for several articles in a single transaction so the
+     * inserts can be JDBC-batched together
+     */
+    @Transactional
+    @Timed(value = "comments.batch.insert", extraTags = {"scope", "articles"})
+    public List<Comment> createCommentsForArticles(List<Map.Entry<Article, List<String>>> commentsByArticle) {
+        LocalDateTime scrapedAt = LocalDateTime.now();
+        
+        List<Comment> commentEntities = commentsByArticle.stream()
+                .flatMap(entry -> buildComments(entry.getValue(), entry.getKey(), scrapedAt).stream())
+                .toList();
+        
+        List<Comment> savedComments = commentRepository.saveAll(commentEntities);
+        log.info("Created {} comments for {} articles", savedComments.size(), commentsByArticle.size());
+        
+        return savedComments;
+    }
+
+    /**
+     * Build unsaved, unprocessed comment entities scraped at the same instant
+     */
+    static List<Comment> buildComments(List<String> comments, Article article, LocalDateTime scrapedAt) {
+        return comments.stream()
                 .map(commentText -> Comment.builder()
                         .content(commentText)
                         .article(article)
-                        .scrapedAt(LocalDateTime.now())
+                        .scrapedAt(scrapedAt)
                         .isProcessed(false)
                         .build())
                 .toList();
-        
-        List<Comment> savedComments = commentRepository.saveAll(commentEntities);
-        log.info("Successfully created {} comments", savedComments.size());
-        
-        return savedComments;
     }
 
     /**
@@ -101,22 +138,53 @@ public class CommentService {
     }
 
     /**
-     * Update comment sentiment
+     * Claim a batch of unprocessed comments for classification, leasing them for {@code leaseSeconds}.
+     * Comments that already failed {@code classification.auto.max-attempts} times are not claimed.
      */
     @Transactional
-    public void updateCommentSentiment(UUID commentId, Sentiment sentiment, Double confidenceScore) {
-        log.info("Updating sentiment for comment ID: {} to {}", commentId, sentiment);
-        
-        Optional<Comment> commentOpt = commentRepository.findById(commentId);
-        if (commentOpt.isPresent()) {
-            Comment comment = commentOpt.get();
-            comment.setSentiment(sentiment);
-            if (confidenceScore != null) {
-                comment.setConfidenceScore(java.math.BigDecimal.valueOf(confidenceScore));
-            }
-            comment.setIsProcessed(true);
-            commentRepository.save(comment);
+    public List<Comment> claimUnprocessedComments(int limit, long leaseSeconds) {
+        LocalDateTime now = LocalDateTime.now();
+        return commentRepository.claimUnprocessed(now, now.minusSeconds(leaseSeconds), maxClassificationAttempts, limit);
+    }
+
+    /**
+     * Record a failed classification attempt for the comments. They keep their
+     * lease and are retried once it expires, until they run out of attempts.
+     */
+    @Transactional
+    public void recordClassificationFailure(Collection<UUID> commentIds) {
+        if (commentIds.isEmpty()) {
+            return;
         }
+        commentRepository.incrementClassificationAttempts(commentIds);
+    }
+
+    /**
+     * Count comments waiting for classification, excluding those out of attempts
+     */
+    public long countUnprocessed() {
+        return commentRepository.countClaimable(maxClassificationAttempts);
+    }
+
+    /**
+     * Count unprocessed comments the pipeline gave up on after repeated failures
+     */
+    public long countAbandoned() {
+        return commentRepository.countAbandoned(maxClassificationAttempts);
+    }
+
+    /**
+     * A page of an article's comments with their latest result for the model, in one query
+     */
+    public List<CommentWithLatestResultDto> findCommentsWithLatestResult(UUID articleId, String modelName, int page, int size) {
+        return commentResultQueryRepository.findCommentsWithLatestResult(articleId, modelName, page, size);
+    }
+
+    /**
+     * Count comments by article ID
+     */
+    public long countByArticleId(UUID articleId) {
+        return commentRepository.countByArticleId(articleId);
     }
 
     /**
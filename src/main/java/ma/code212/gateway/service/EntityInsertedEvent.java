@@ -0,0 +1,15 @@
+package ma.code212.gateway.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A row of a second-level cached entity was inserted with a native query,
+ * bypassing Hibernate's cache invalidation (see SecondLevelCacheService)
+ */
+@Getter
+@RequiredArgsConstructor
+public class EntityInsertedEvent {
+
+    private final Class<?> entityClass;
+}
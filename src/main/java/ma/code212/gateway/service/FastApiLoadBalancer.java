@@ -0,0 +1,377 @@
+package ma.code212.gateway.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.exception.UpstreamUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Client-side load balancer over the configured FastAPI instances.
+ * Picks instances with power-of-two-choices on outstanding requests, skips
+ * instances failing their health check or whose circuit breaker for the
+ * endpoint is open, and temporarily ejects outliers with consecutive errors or
+ * a latency average above the endpoint's threshold. Latency is tracked per
+ * endpoint, as Tor scrapes take far longer than classifications. When no
+ * instance is eligible every instance is tried (panic mode) rather than
+ * failing all requests.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FastApiLoadBalancer {
+
+    public static final String SCRAPE_ENDPOINT = "/scrape-comments";
+
+    public static final String CLASSIFICATION_ENDPOINT = "/comment-classification";
+
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Value("${external.fastapi.urls:${external.fastapi.url}}")
+    private List<String> fastApiUrls;
+
+    @Value("${external.fastapi.load-balancer.health-path:/docs}")
+    private String healthPath;
+
+    @Value("${external.fastapi.load-balancer.health-timeout:2000}")
+    private int healthTimeoutMillis;
+
+    @Value("${external.fastapi.load-balancer.ejection.consecutive-failures:5}")
+    private int ejectionConsecutiveFailures;
+
+    @Value("${external.fastapi.load-balancer.ejection.latency-threshold.scrape:25000}")
+    private long scrapeLatencyThresholdMillis;
+
+    @Value("${external.fastapi.load-balancer.ejection.latency-threshold.classification:5000}")
+    private long classificationLatencyThresholdMillis;
+
+    @Value("${external.fastapi.load-balancer.ejection.base-duration:30000}")
+    private long ejectionBaseMillis;
+
+    @Value("${external.fastapi.load-balancer.ejection.max-duration:300000}")
+    private long ejectionMaxMillis;
+
+    private List<Instance> instances;
+
+    private RestTemplate healthCheckClient;
+
+    @PostConstruct
+    void initInstances() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(healthTimeoutMillis);
+        requestFactory.setReadTimeout(healthTimeoutMillis);
+        healthCheckClient = new RestTemplate(requestFactory);
+
+        instances = fastApiUrls.stream()
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .distinct()
+                .map(this::registerInstance)
+                .toList();
+
+        log.info("FastAPI load balancer initialized with {} instances: {}", instances.size(), fastApiUrls);
+    }
+
+    /**
+     * Number of configured instances
+     */
+    public int instanceCount() {
+        return instances.size();
+    }
+
+    /**
+     * Choose an instance for the next request to the endpoint
+     */
+    public String choose(String endpoint) {
+        return choose(endpoint, null);
+    }
+
+    /**
+     * Choose an instance for the next request to the endpoint, avoiding
+     * {@code excludedUrl} when another eligible instance exists (used for hedges)
+     */
+    public String choose(String endpoint, String excludedUrl) {
+        long now = System.currentTimeMillis();
+        List<Instance> available = instances.stream()
+                .filter(instance -> instance.isEligible(now) && !isCircuitOpen(endpoint, instance))
+                .toList();
+        List<Instance> eligible = available.stream()
+                .filter(instance -> !instance.url.equals(excludedUrl))
+                .toList();
+
+        if (eligible.isEmpty()) {
+            eligible = available;
+        }
+        if (eligible.isEmpty()) {
+            log.warn("No healthy FastAPI instance available, falling back to all instances");
+            eligible = instances;
+        }
+        if (eligible.size() == 1) {
+            return eligible.get(0).url;
+        }
+
+        // Power of two choices on outstanding requests, latency average breaks ties
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Instance first = eligible.get(random.nextInt(eligible.size()));
+        Instance second = eligible.get(random.nextInt(eligible.size() - 1));
+        if (second == first) {
+            second = eligible.get(eligible.size() - 1);
+        }
+        return first.compareLoad(second, endpoint) <= 0 ? first.url : second.url;
+    }
+
+    /**
+     * Name of the circuit breaker guarding the endpoint on one instance, so a
+     * failing instance does not open the breaker for the others
+     */
+    public static String circuitBreakerName(String endpoint, String baseUrl) {
+        String authority;
+        try {
+            authority = URI.create(baseUrl).getAuthority();
+        } catch (IllegalArgumentException e) {
+            authority = null;
+        }
+        return circuitBreakerConfigName(endpoint) + "@" + (authority != null ? authority : baseUrl);
+    }
+
+    /**
+     * Name of the circuit breaker configuration shared by the endpoint's breakers
+     */
+    public static String circuitBreakerConfigName(String endpoint) {
+        return "fastapi" + endpoint.replace('/', '-');
+    }
+
+    /**
+     * Run a call to the endpoint against an instance, tracking outstanding
+     * requests, latency and outcome
+     */
+    public <T> T execute(String endpoint, String baseUrl, Supplier<T> call) {
+        Instance instance = find(baseUrl);
+        if (instance == null) {
+            return call.get();
+        }
+
+        instance.outstanding.incrementAndGet();
+        long startNanos = System.nanoTime();
+        try {
+            T result = call.get();
+            instance.recordSuccess(endpoint, System.nanoTime() - startNanos);
+            return result;
+        } catch (RuntimeException e) {
+            if (isInstanceFailure(e)) {
+                instance.recordFailure(endpoint, System.nanoTime() - startNanos);
+            }
+            throw e;
+        } finally {
+            instance.outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute(String, String, Supplier)}. A
+     * cancelled call (timeout upstream of it, disposed drain) only releases its
+     * outstanding slot.
+     */
+    public <T> Mono<T> execute(String endpoint, String baseUrl, Mono<T> call) {
+        return Mono.defer(() -> {
+            Instance instance = find(baseUrl);
+            if (instance == null) {
+                return call;
+            }
+
+            instance.outstanding.incrementAndGet();
+            long startNanos = System.nanoTime();
+            return call
+                    .doOnSuccess(result -> instance.recordSuccess(endpoint, System.nanoTime() - startNanos))
+                    .doOnError(e -> {
+                        if (isInstanceFailure(e)) {
+                            instance.recordFailure(endpoint, System.nanoTime() - startNanos);
+                        }
+                    })
+                    .doFinally(signal -> instance.outstanding.decrementAndGet());
+        });
+    }
+
+    /**
+     * Probe every instance's health endpoint
+     */
+    @Scheduled(fixedDelayString = "${external.fastapi.load-balancer.health-check-interval:10000}")
+    public void checkHealth() {
+        for (Instance instance : instances) {
+            boolean healthy;
+            try {
+                healthCheckClient.getForEntity(instance.url + healthPath, String.class);
+                healthy = true;
+            } catch (Exception e) {
+                healthy = false;
+            }
+
+            if (healthy != instance.healthy) {
+                log.warn("FastAPI instance {} is now {}", instance.url, healthy ? "healthy" : "unhealthy");
+            }
+            instance.healthy = healthy;
+        }
+    }
+
+    private boolean isInstanceFailure(Throwable error) {
+        if (Thread.currentThread().isInterrupted()) {
+            // Cancelled by the caller, e.g. the losing attempt of a hedged request
+            return false;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UpstreamUnavailableException || cause instanceof HttpClientErrorException
+                    || cause instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+                // Rejected before reaching the instance, or the request itself was invalid
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isCircuitOpen(String endpoint, Instance instance) {
+        return circuitBreakerRegistry.find(circuitBreakerName(endpoint, instance.url))
+                .map(circuitBreaker -> circuitBreaker.getState() == CircuitBreaker.State.OPEN)
+                .orElse(false);
+    }
+
+    private long latencyThreshold(String endpoint) {
+        return SCRAPE_ENDPOINT.equals(endpoint) ? scrapeLatencyThresholdMillis : classificationLatencyThresholdMillis;
+    }
+
+    private Instance find(String baseUrl) {
+        for (Instance instance : instances) {
+            if (instance.url.equals(baseUrl)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+
+    private Instance registerInstance(String url) {
+        Instance instance = new Instance(url);
+
+        Gauge.builder("fastapi.instance.outstanding", instance.outstanding, AtomicInteger::get)
+                .description("In-flight requests per FastAPI instance")
+                .tag("instance", url)
+                .register(meterRegistry);
+        Gauge.builder("fastapi.instance.available", instance, i -> i.isEligible(System.currentTimeMillis()) ? 1 : 0)
+                .description("1 when the FastAPI instance is healthy and not ejected")
+                .tag("instance", url)
+                .register(meterRegistry);
+        instance.failures = Counter.builder("fastapi.instance.failures")
+                .tag("instance", url)
+                .register(meterRegistry);
+        instance.ejections = Counter.builder("fastapi.instance.ejections")
+                .tag("instance", url)
+                .register(meterRegistry);
+
+        return instance;
+    }
+
+    private class Instance {
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile boolean healthy = true;
+        private volatile long ejectedUntil;
+        private int consecutiveFailures;
+        private int ejectionCount;
+        private final Map<String, EndpointLatency> latencies = new HashMap<>();
+        private Counter failures;
+        private Counter ejections;
+
+        Instance(String url) {
+            this.url = url;
+        }
+
+        boolean isEligible(long now) {
+            return healthy && now >= ejectedUntil;
+        }
+
+        int compareLoad(Instance other, String endpoint) {
+            int byOutstanding = Integer.compare(outstanding.get(), other.outstanding.get());
+            return byOutstanding != 0 ? byOutstanding : Double.compare(latencyEwma(endpoint), other.latencyEwma(endpoint));
+        }
+
+        synchronized double latencyEwma(String endpoint) {
+            EndpointLatency latency = latencies.get(endpoint);
+            return latency != null ? latency.ewmaMillis : 0;
+        }
+
+        synchronized void recordSuccess(String endpoint, long elapsedNanos) {
+            consecutiveFailures = 0;
+            EndpointLatency latency = updateLatency(endpoint, elapsedNanos);
+            if (latency.ewmaMillis > latencyThreshold(endpoint)) {
+                eject(endpoint + " latency average " + (long) latency.ewmaMillis + " ms");
+            } else if (System.currentTimeMillis() >= ejectedUntil) {
+                ejectionCount = 0;
+            }
+        }
+
+        synchronized void recordFailure(String endpoint, long elapsedNanos) {
+            failures.increment();
+            updateLatency(endpoint, elapsedNanos);
+            if (++consecutiveFailures >= ejectionConsecutiveFailures) {
+                eject(consecutiveFailures + " consecutive failures");
+                consecutiveFailures = 0;
+            }
+        }
+
+        private EndpointLatency updateLatency(String endpoint, long elapsedNanos) {
+            EndpointLatency latency = latencies.computeIfAbsent(endpoint, key -> new EndpointLatency(Timer.builder("fastapi.instance.latency")
+                    .description("Latency of requests per FastAPI instance and endpoint")
+                    .tag("instance", url)
+                    .tag("endpoint", key)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)));
+            latency.timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            double elapsedMillis = elapsedNanos / 1_000_000.0;
+            latency.ewmaMillis = latency.ewmaMillis == 0 ? elapsedMillis : 0.8 * latency.ewmaMillis + 0.2 * elapsedMillis;
+            return latency;
+        }
+
+        private void eject(String reason) {
+            ejectionCount++;
+            long duration = Math.min(ejectionMaxMillis, ejectionBaseMillis * ejectionCount);
+            ejectedUntil = System.currentTimeMillis() + duration;
+            // Start over once the instance comes back so a single slow call does not re-eject it
+            latencies.values().forEach(latency -> latency.ewmaMillis = 0);
+            ejections.increment();
+            log.warn("Ejecting FastAPI instance {} for {} ms: {}", url, duration, reason);
+        }
+    }
+
+    /**
+     * Latency average of one endpoint on one instance
+     */
+    private static class EndpointLatency {
+        private final Timer timer;
+        private double ewmaMillis;
+
+        EndpointLatency(Timer timer) {
+            this.timer = timer;
+        }
+    }
+}
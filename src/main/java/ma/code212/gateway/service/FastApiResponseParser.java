@@ -0,0 +1,83 @@
+package ma.code212.gateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import ma.code212.gateway.enums.Sentiment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Parses FastAPI response bodies into the gateway's scraping and classification types
+ */
+@Component
+@RequiredArgsConstructor
+public class FastApiResponseParser {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Parse a FastAPI scraping response
+     */
+    public FastApiService.ScrapedComments parseScrapedComments(String responseBody) {
+        try {
+            JsonNode responseJson = objectMapper.readTree(responseBody);
+            JsonNode commentsArray = responseJson.get("comments");
+            int totalComments = responseJson.get("total_comments").asInt();
+
+            List<String> commentTexts = objectMapper.convertValue(commentsArray,
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
+
+            return FastApiService.ScrapedComments.builder()
+                    .comments(commentTexts)
+                    .totalComments(totalComments)
+                    .build();
+
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse FastAPI scraping response: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parse a FastAPI classification response. The score of the predicted label
+     * is used as the confidence score.
+     */
+    public FastApiService.Classification parseClassification(String responseBody) {
+        try {
+            JsonNode responseJson = objectMapper.readTree(responseBody);
+            String sentimentStr = responseJson.get("sentiment").asText();
+            FastApiService.Classification classification = FastApiService.Classification.builder()
+                    .sentiment(Sentiment.valueOf(sentimentStr.toUpperCase()))
+                    .build();
+
+            JsonNode resultsArray = responseJson.get("results");
+            if (resultsArray != null && resultsArray.isArray()) {
+                for (JsonNode result : resultsArray) {
+                    String label = result.get("label").asText().toLowerCase();
+                    float score = result.get("score").floatValue();
+
+                    switch (label) {
+                        case "positive" -> classification.setPositiveScore(score);
+                        case "negative" -> classification.setNegativeScore(score);
+                        case "neutral" -> classification.setNeutralScore(score);
+                        default -> { }
+                    }
+
+                    if (label.equalsIgnoreCase(sentimentStr)) {
+                        classification.setConfidenceScore(score);
+                    }
+                }
+            }
+
+            return classification;
+
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse FastAPI classification response: " + e.getMessage(), e);
+        }
+    }
+}
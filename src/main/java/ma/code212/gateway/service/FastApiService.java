@@ -0,0 +1,622 @@
+package ma.code212.gateway.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.enums.Sentiment;
+import ma.code212.gateway.exception.UpstreamUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Client for the FastAPI scraping and classification services.
+ * Every upstream endpoint gets its own semaphore bulkhead (named
+ * {@code fastapi-<endpoint>}) and a circuit breaker per instance, so a degraded
+ * scraper fails fast with {@link UpstreamUnavailableException} instead of tying
+ * up request threads.
+ * Classification calls run within a deadline budget, are retried with
+ * exponential backoff and jitter, and are optionally hedged against another
+ * configured FastAPI instance once they exceed the observed p95 latency
+ * (never with a single instance; the losing attempt is cancelled).
+ * Both scraping and classification pick their instance through
+ * {@link FastApiLoadBalancer}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FastApiService {
+
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private final RestTemplate restTemplate;
+    private final RestTemplate warmingRestTemplate;
+    private final RestTemplate classificationRestTemplate;
+    private final FastApiResponseParser responseParser;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+    private final FastApiLoadBalancer loadBalancer;
+
+    @Value("${external.fastapi.classification.default-model:default_model}")
+    private String defaultModelName;
+
+    @Value("${external.fastapi.classification.budget:10000}")
+    private long classificationBudgetMillis;
+
+    @Value("${external.fastapi.classification.max-attempts:3}")
+    private int classificationMaxAttempts;
+
+    @Value("${external.fastapi.classification.backoff-initial:100}")
+    private long backoffInitialMillis;
+
+    @Value("${external.fastapi.classification.backoff-multiplier:2.0}")
+    private double backoffMultiplier;
+
+    @Value("${external.fastapi.classification.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+
+    @Value("${external.fastapi.classification.hedging.min-delay:100}")
+    private long minHedgeDelayMillis;
+
+    @Value("${external.fastapi.classification.max-in-flight:64}")
+    private int classificationMaxInFlight;
+
+    private final LatencyWindow classificationLatencies = new LatencyWindow(256);
+
+    private ExecutorService classificationExecutor;
+
+    private Timer classificationTimer;
+
+    private Counter retryCounter;
+
+    private Counter hedgeSentCounter;
+
+    private Counter hedgeWonCounter;
+
+    private Counter budgetExhaustedCounter;
+
+    private Timer parseTimer;
+
+    @PostConstruct
+    void initClassificationClient() {
+        // Attempts and hedges run in the caller's trace
+        classificationExecutor = ContextExecutorService.wrap(
+                Executors.newFixedThreadPool(classificationMaxInFlight), CONTEXT_SNAPSHOTS::captureAll);
+        
+        classificationTimer = Timer.builder("fastapi.classification.attempt")
+                .description("Latency of successful classification attempts")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        retryCounter = Counter.builder("fastapi.classification.retries")
+                .description("Classification attempts retried after a failure or timeout")
+                .register(meterRegistry);
+        hedgeSentCounter = Counter.builder("fastapi.classification.hedges")
+                .tag("outcome", "sent")
+                .description("Hedged classification requests sent")
+                .register(meterRegistry);
+        hedgeWonCounter = Counter.builder("fastapi.classification.hedges")
+                .tag("outcome", "won")
+                .description("Hedged classification requests that answered first")
+                .register(meterRegistry);
+        budgetExhaustedCounter = Counter.builder("fastapi.classification.budget.exhausted")
+                .description("Classifications that ran out of deadline budget")
+                .register(meterRegistry);
+        parseTimer = Timer.builder("fastapi.classification.parse")
+                .description("Time spent parsing classification responses")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdownClassificationClient() {
+        classificationExecutor.shutdownNow();
+    }
+
+    // DTO classes for request/response
+    public static class UrlInput {
+        public String url;
+
+        public UrlInput() {}
+
+        public UrlInput(String url) {
+            this.url = url;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CommentInput {
+        public String comment;
+        public String model_name;
+
+        public CommentInput() {}
+
+        public CommentInput(String comment) {
+            this.comment = comment;
+        }
+
+        public CommentInput(String comment, String modelName) {
+            this.comment = comment;
+            this.model_name = modelName;
+        }
+    }
+
+    /**
+     * Scrape comments for a URL through the FastAPI Tor scraper
+     */
+    public ScrapedComments scrapeComments(String url) {
+        ResponseEntity<String> fastApiResponse = proxyToFastApiForScraping(FastApiLoadBalancer.SCRAPE_ENDPOINT, new UrlInput(url), HttpMethod.POST, restTemplate);
+        return responseParser.parseScrapedComments(fastApiResponse.getBody());
+    }
+
+    /**
+     * Scrape comments for cache warming, with the warming client's timeouts
+     */
+    public ScrapedComments scrapeCommentsForWarming(String url) {
+        ResponseEntity<String> fastApiResponse = proxyToFastApiForScraping(FastApiLoadBalancer.SCRAPE_ENDPOINT, new UrlInput(url), HttpMethod.POST, warmingRestTemplate);
+        return responseParser.parseScrapedComments(fastApiResponse.getBody());
+    }
+
+    /**
+     * Build the classification request body. The model name is only sent for
+     * non-default models, so FastAPI deployments serving a single model keep working.
+     */
+    public CommentInput createCommentInput(String content, String modelName) {
+        boolean defaultModel = modelName == null || modelName.equals(defaultModelName);
+        return defaultModel ? new CommentInput(content) : new CommentInput(content, modelName);
+    }
+
+    /**
+     * Classify a comment with the default model and parse the sentiment and per-label scores
+     */
+    public Classification classify(String content) {
+        return classify(content, null);
+    }
+
+    /**
+     * Classify a comment with the given model and parse the sentiment and per-label scores
+     */
+    public Classification classify(String content, String modelName) {
+        ResponseEntity<Object> fastApiResponse = classifyComment(content, modelName);
+        Object responseBody = fastApiResponse.getBody();
+        if (responseBody == null) {
+            throw new RuntimeException("Empty response from FastAPI");
+        }
+        return parseClassification(responseBody.toString());
+    }
+
+    /**
+     * Parse a FastAPI classification response. The score of the predicted label
+     * is used as the confidence score.
+     */
+    public Classification parseClassification(String responseBody) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return responseParser.parseClassification(responseBody);
+        } finally {
+            sample.stop(parseTimer);
+        }
+    }
+
+    /**
+     * Send a comment to the FastAPI sentiment model within the classification budget.
+     * Classification is idempotent, so failed or timed-out attempts are retried
+     * with exponential backoff and full jitter until the budget runs out.
+     */
+    public ResponseEntity<Object> classifyComment(String content) {
+        return classifyComment(content, null);
+    }
+
+    /**
+     * Send a comment to the given FastAPI model within the classification budget
+     */
+    public ResponseEntity<Object> classifyComment(String content, String modelName) {
+        CommentInput commentInput = createCommentInput(content, modelName);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(classificationBudgetMillis);
+        long backoffMillis = backoffInitialMillis;
+        Exception lastFailure = null;
+        
+        for (int attempt = 1; attempt <= classificationMaxAttempts; attempt++) {
+            long remainingMillis = remainingMillis(deadline);
+            if (remainingMillis <= 0) {
+                break;
+            }
+            
+            try {
+                return hedgedClassification(commentInput, remainingMillis);
+            } catch (UpstreamUnavailableException e) {
+                // Open circuit or full bulkhead: retrying will not help
+                throw e;
+            } catch (Exception e) {
+                if (e.getCause() instanceof HttpClientErrorException) {
+                    // FastAPI rejected the request itself, it is not transient
+                    throw e instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(e);
+                }
+                lastFailure = e;
+                log.warn("Classification attempt {}/{} failed: {}", attempt, classificationMaxAttempts, e.getMessage());
+            }
+            
+            if (attempt < classificationMaxAttempts) {
+                long sleepMillis = Math.min(ThreadLocalRandom.current().nextLong(backoffMillis + 1), remainingMillis(deadline));
+                if (sleepMillis > 0) {
+                    try {
+                        Thread.sleep(sleepMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                backoffMillis = (long) (backoffMillis * backoffMultiplier);
+                retryCounter.increment();
+            }
+        }
+        
+        if (remainingMillis(deadline) <= 0) {
+            budgetExhaustedCounter.increment();
+        }
+        String reason = lastFailure != null ? lastFailure.getMessage() : "deadline budget of " + classificationBudgetMillis + " ms exhausted";
+        throw new RuntimeException("Failed to classify comment: " + reason, lastFailure);
+    }
+
+    /**
+     * One classification attempt. If the primary request has not answered after
+     * the observed p95 latency, a hedge is sent to another FastAPI instance and
+     * the first successful answer wins. The other attempt is cancelled.
+     */
+    private ResponseEntity<Object> hedgedClassification(CommentInput commentInput, long remainingMillis) throws Exception {
+        long startNanos = System.nanoTime();
+        String primaryUrl = loadBalancer.choose(FastApiLoadBalancer.CLASSIFICATION_ENDPOINT);
+        CompletableFuture<ResponseEntity<Object>> primary = submitClassification(primaryUrl, commentInput);
+        
+        long hedgeDelayMillis = Math.max(minHedgeDelayMillis, classificationLatencies.percentile(0.95));
+        if (!hedgingEnabled || loadBalancer.instanceCount() < 2 || hedgeDelayMillis >= remainingMillis) {
+            try {
+                return awaitClassification(primary, remainingMillis, startNanos);
+            } finally {
+                primary.cancel(false);
+            }
+        }
+        
+        try {
+            return awaitClassification(primary, hedgeDelayMillis, startNanos);
+        } catch (TimeoutException e) {
+            log.debug("Classification slower than {} ms, sending hedged request", hedgeDelayMillis);
+        }
+        
+        String hedgeUrl = loadBalancer.choose(FastApiLoadBalancer.CLASSIFICATION_ENDPOINT, primaryUrl);
+        if (hedgeUrl.equals(primaryUrl)) {
+            // No other eligible instance, a hedge would only add load to the same one
+            try {
+                return awaitClassification(primary, remainingMillis - hedgeDelayMillis, startNanos);
+            } finally {
+                primary.cancel(false);
+            }
+        }
+        
+        CompletableFuture<ResponseEntity<Object>> hedge = submitClassification(hedgeUrl, commentInput);
+        hedgeSentCounter.increment();
+        
+        CompletableFuture<ResponseEntity<Object>> firstSuccess = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<ResponseEntity<Object>> candidate : List.of(primary, hedge)) {
+            candidate.whenComplete((response, error) -> {
+                if (error == null) {
+                    if (firstSuccess.complete(response) && candidate == hedge) {
+                        hedgeWonCounter.increment();
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    firstSuccess.completeExceptionally(error);
+                }
+            });
+        }
+        
+        try {
+            return awaitClassification(firstSuccess, remainingMillis - hedgeDelayMillis, startNanos);
+        } finally {
+            primary.cancel(false);
+            hedge.cancel(false);
+        }
+    }
+
+    /**
+     * Run a classification attempt on the classification executor. Cancelling the
+     * returned future interrupts the attempt, which aborts its HTTP request and
+     * frees the thread.
+     */
+    private CompletableFuture<ResponseEntity<Object>> submitClassification(String baseUrl, CommentInput commentInput) {
+        CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+        Future<?> attempt = classificationExecutor.submit(() -> {
+            try {
+                String endpoint = FastApiLoadBalancer.CLASSIFICATION_ENDPOINT;
+                result.complete(loadBalancer.execute(endpoint, baseUrl,
+                        () -> proxyToFastApi(baseUrl, endpoint, commentInput, HttpMethod.POST)));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                attempt.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private ResponseEntity<Object> awaitClassification(CompletableFuture<ResponseEntity<Object>> future,
+                                                       long timeoutMillis, long startNanos) throws Exception {
+        try {
+            ResponseEntity<Object> response = future.get(Math.max(1, timeoutMillis), TimeUnit.MILLISECONDS);
+            long elapsedNanos = System.nanoTime() - startNanos;
+            classificationLatencies.record(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            classificationTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            return response;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private long remainingMillis(long deadlineNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    private ResponseEntity<String> proxyToFastApiForScraping(String endpoint, Object body, HttpMethod httpMethod, RestTemplate client) {
+        try {
+            // Build the target URL
+            String baseUrl = loadBalancer.choose(endpoint);
+            String targetUrl = baseUrl + endpoint;
+
+            log.info("Proxying {} to FastAPI: {}", httpMethod, targetUrl);
+
+            // Create headers
+            HttpHeaders headers = new HttpHeaders();
+            headers.add("Content-Type", "application/json");
+            headers.add("Accept", "application/json");
+
+            // Create the request entity
+            HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+            // Forward the request to FastAPI
+            ResponseEntity<String> response = loadBalancer.execute(endpoint, baseUrl, () -> callUpstream(endpoint, baseUrl, () -> client.exchange(
+                targetUrl,
+                httpMethod,
+                requestEntity,
+                String.class
+            )));
+
+            log.info("FastAPI responded with status: {}", response.getStatusCode());
+
+            return response;
+
+        } catch (UpstreamUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error proxying request to FastAPI: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to proxy request to FastAPI: " + e.getMessage(), e);
+        }
+    }
+
+    private ResponseEntity<Object> proxyToFastApi(String baseUrl, String endpoint, Object body, HttpMethod httpMethod) {
+        try {
+            // Build the target URL
+            String targetUrl = baseUrl + endpoint;
+
+            log.info("Proxying {} to FastAPI: {}", httpMethod, targetUrl);
+
+            // Create headers
+            HttpHeaders headers = new HttpHeaders();
+            headers.add("Content-Type", "application/json");
+            headers.add("Accept", "application/json");
+
+            // Create the request entity
+            HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+            // Forward the request to FastAPI
+            ResponseEntity<String> response = callUpstream(endpoint, baseUrl, () -> classificationRestTemplate.exchange(
+                targetUrl,
+                httpMethod,
+                requestEntity,
+                String.class
+            ));
+
+            log.info("FastAPI responded with status: {}", response.getStatusCode());
+
+            // Return the response with the original headers and body as String
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .body(response.getBody());
+
+        } catch (UpstreamUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error proxying request to FastAPI: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to proxy request to FastAPI: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run an upstream call through the endpoint's bulkhead and the instance's
+     * circuit breaker for the endpoint. The bulkhead is the outer decorator so
+     * rejected calls are not counted as circuit breaker failures.
+     */
+    private <T> T callUpstream(String endpoint, String baseUrl, Supplier<T> call) {
+        String configName = FastApiLoadBalancer.circuitBreakerConfigName(endpoint);
+        String name = FastApiLoadBalancer.circuitBreakerName(endpoint, baseUrl);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name, configName);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(configName);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        
+        try {
+            T result = Bulkhead.decorateSupplier(bulkhead,
+                    CircuitBreaker.decorateSupplier(circuitBreaker, call)).get();
+            outcome = "success";
+            return result;
+        } catch (CallNotPermittedException e) {
+            outcome = "circuit_open";
+            log.warn("Circuit breaker {} is {}, rejecting FastAPI call", name, circuitBreaker.getState());
+            throw new UpstreamUnavailableException("FastAPI " + endpoint + " is unavailable (circuit open)", e);
+        } catch (BulkheadFullException e) {
+            outcome = "bulkhead_full";
+            log.warn("Bulkhead {} is full, rejecting FastAPI call", configName);
+            throw new UpstreamUnavailableException("FastAPI " + endpoint + " is overloaded (too many concurrent calls)", e);
+        } finally {
+            recordUpstream(sample, endpoint, outcome);
+        }
+    }
+
+    /**
+     * Non-blocking variant of the upstream guard, for WebClient calls. Permissions
+     * are taken from the bulkhead and circuit breaker on subscription and handed
+     * back when the call completes or is cancelled.
+     */
+    public <T> Mono<T> callUpstream(String endpoint, String baseUrl, Mono<T> call) {
+        String configName = FastApiLoadBalancer.circuitBreakerConfigName(endpoint);
+        String name = FastApiLoadBalancer.circuitBreakerName(endpoint, baseUrl);
+        
+        return Mono.defer(() -> {
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name, configName);
+            Bulkhead bulkhead = bulkheadRegistry.bulkhead(configName);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            
+            if (!bulkhead.tryAcquirePermission()) {
+                recordUpstream(sample, endpoint, "bulkhead_full");
+                log.warn("Bulkhead {} is full, rejecting FastAPI call", configName);
+                return Mono.error(new UpstreamUnavailableException("FastAPI " + endpoint + " is overloaded (too many concurrent calls)",
+                        BulkheadFullException.createBulkheadFullException(bulkhead)));
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                bulkhead.onComplete();
+                recordUpstream(sample, endpoint, "circuit_open");
+                log.warn("Circuit breaker {} is {}, rejecting FastAPI call", name, circuitBreaker.getState());
+                return Mono.error(new UpstreamUnavailableException("FastAPI " + endpoint + " is unavailable (circuit open)",
+                        CallNotPermittedException.createCallNotPermittedException(circuitBreaker)));
+            }
+            
+            long startNanos = System.nanoTime();
+            AtomicBoolean finished = new AtomicBoolean();
+            return call
+                    .doOnSuccess(result -> {
+                        if (finished.compareAndSet(false, true)) {
+                            circuitBreaker.onSuccess(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                            recordUpstream(sample, endpoint, "success");
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (finished.compareAndSet(false, true)) {
+                            if (e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+                                // Invalid request, not an upstream failure (HttpClientErrorException is ignored the same way)
+                                circuitBreaker.releasePermission();
+                            } else {
+                                circuitBreaker.onError(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS, e);
+                            }
+                            recordUpstream(sample, endpoint, "error");
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (finished.compareAndSet(false, true)) {
+                            circuitBreaker.releasePermission();
+                        }
+                    })
+                    .doFinally(signal -> bulkhead.onComplete());
+        });
+    }
+
+    private void recordUpstream(Timer.Sample sample, String endpoint, String outcome) {
+        sample.stop(Timer.builder("fastapi.upstream")
+                .description("Latency of FastAPI calls per endpoint, rejected calls included")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Fixed-size window of recent latencies used to pick the hedging delay
+     */
+    static class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        synchronized long percentile(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+        }
+    }
+
+    /**
+     * Comments returned by the FastAPI scraper
+     */
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class ScrapedComments {
+        private List<String> comments;
+        private int totalComments;
+    }
+
+    /**
+     * Sentiment and scores returned by the FastAPI classifier
+     */
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class Classification {
+        private Sentiment sentiment;
+        private float confidenceScore;
+        private float positiveScore;
+        private float negativeScore;
+        private float neutralScore;
+    }
+}
@@ -0,0 +1,369 @@
+package ma.code212.gateway.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.dto.ModelComparisonRequest;
+import ma.code212.gateway.dto.ModelComparisonResponse;
+import ma.code212.gateway.enums.JobStatus;
+import ma.code212.gateway.enums.Sentiment;
+import ma.code212.gateway.model.Comment;
+import ma.code212.gateway.model.ModelComparisonRun;
+import ma.code212.gateway.model.User;
+import ma.code212.gateway.repository.CommentRepository;
+import ma.code212.gateway.repository.ModelComparisonRunRepository;
+import ma.code212.gateway.repository.SentimentAnalysisResultRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs two or more models over the comments of an article or a date range and
+ * reports how the candidates compare to the baseline (first) model.
+ * Runs are executed one at a time in the background and processed in batches;
+ * results are stored per model next to the existing ones without touching the
+ * comments' own sentiment, and the latest existing result per comment is reused
+ * instead of re-classified. Runs without progress for {@code stale-timeout}
+ * seconds (lost in a restart, or queued too long) are marked failed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ModelComparisonService {
+
+    private static final List<JobStatus> ACTIVE_STATUSES = List.of(JobStatus.PENDING, JobStatus.RUNNING);
+
+    private final ModelComparisonRunRepository modelComparisonRunRepository;
+    private final CommentRepository commentRepository;
+    private final SentimentAnalysisResultRepository sentimentAnalysisResultRepository;
+    private final SentimentResultBulkWriter sentimentResultBulkWriter;
+    private final ClassificationCacheService classificationCacheService;
+    private final FastApiService fastApiService;
+
+    @Value("${model-comparison.batch-size:100}")
+    private int batchSize;
+
+    @Value("${model-comparison.concurrency:4}")
+    private int concurrency;
+
+    @Value("${model-comparison.stale-timeout:1800}")
+    private long staleTimeoutSeconds;
+
+    private ExecutorService runExecutor;
+
+    private ExecutorService classificationExecutor;
+
+    @PostConstruct
+    void initExecutors() {
+        runExecutor = Executors.newSingleThreadExecutor();
+        classificationExecutor = Executors.newFixedThreadPool(concurrency);
+    }
+
+    @PreDestroy
+    void shutdownExecutors() {
+        runExecutor.shutdownNow();
+        classificationExecutor.shutdownNow();
+    }
+
+    /**
+     * Validate and queue a comparison run
+     */
+    public ModelComparisonRun submit(User user, ModelComparisonRequest request) {
+        List<String> models = request.getModels().stream().map(String::trim).distinct().toList();
+        if (models.size() < 2) {
+            throw new IllegalArgumentException("At least two distinct models are required");
+        }
+        if (request.getArticleId() == null && (request.getFrom() == null || request.getTo() == null)) {
+            throw new IllegalArgumentException("Either an article ID or a from/to date range is required");
+        }
+
+        ModelComparisonRun run = modelComparisonRunRepository.save(ModelComparisonRun.builder()
+                .user(user)
+                .models(models)
+                .articleId(request.getArticleId())
+                .fromDate(request.getArticleId() == null ? request.getFrom() : null)
+                .toDate(request.getArticleId() == null ? request.getTo() : null)
+                .build());
+
+        UUID runId = run.getId();
+        runExecutor.submit(() -> execute(runId));
+        log.info("Queued model comparison run {} for models {}", runId, models);
+
+        return run;
+    }
+
+    /**
+     * Find a comparison run by ID
+     */
+    public Optional<ModelComparisonRun> findById(UUID runId) {
+        return modelComparisonRunRepository.findById(runId);
+    }
+
+    /**
+     * Find a user's comparison runs, most recent first
+     */
+    public List<ModelComparisonRun> findByUserId(UUID userId) {
+        return modelComparisonRunRepository.findByUserId(userId);
+    }
+
+    /**
+     * Fail pending and running runs that stopped making progress. Runs execute in
+     * memory, so a restart leaves them unfinished; checked on startup and then
+     * periodically.
+     */
+    @Scheduled(fixedDelayString = "${model-comparison.stale-check-interval:60000}")
+    public void failStaleRuns() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = modelComparisonRunRepository.failStale(ACTIVE_STATUSES,
+                "No progress for " + staleTimeoutSeconds + " seconds, the run was interrupted",
+                now.minusSeconds(staleTimeoutSeconds), now);
+        if (failed > 0) {
+            log.warn("Marked {} stale model comparison runs as failed", failed);
+        }
+    }
+
+    public ModelComparisonResponse toResponse(ModelComparisonRun run) {
+        return ModelComparisonResponse.builder()
+                .status("success")
+                .message("Model comparison run " + run.getStatus().name().toLowerCase())
+                .runId(run.getId())
+                .runStatus(run.getStatus())
+                .models(run.getModels())
+                .articleId(run.getArticleId())
+                .from(run.getFromDate())
+                .to(run.getToDate())
+                .totalComments(run.getTotalComments())
+                .processedComments(run.getProcessedComments())
+                .report(run.getReport())
+                .errors(run.getErrors())
+                .startTime(run.getStartTime())
+                .endTime(run.getEndTime())
+                .timestamp(LocalDateTime.now().toString())
+                .build();
+    }
+
+    private void execute(UUID runId) {
+        ModelComparisonRun run = modelComparisonRunRepository.findById(runId).orElse(null);
+        if (run == null) {
+            log.warn("Model comparison run {} disappeared before it started", runId);
+            return;
+        }
+
+        List<String> models = run.getModels();
+        String baselineModel = models.get(0);
+        Map<String, ModelStats> statsByModel = new LinkedHashMap<>();
+        Map<String, Agreement> agreementByModel = new LinkedHashMap<>();
+        models.forEach(model -> statsByModel.put(model, new ModelStats()));
+        models.subList(1, models.size()).forEach(model -> agreementByModel.put(model, new Agreement()));
+
+        try {
+            if (modelComparisonRunRepository.startIfPending(runId, (int) countComments(run), LocalDateTime.now()) == 0) {
+                log.warn("Model comparison run {} is no longer pending and will not be started", runId);
+                return;
+            }
+
+            int processed = 0;
+            for (int page = 0; ; page++) {
+                List<Comment> comments = findComments(run, PageRequest.of(page, batchSize));
+                if (comments.isEmpty()) {
+                    break;
+                }
+
+                Map<String, Map<UUID, Sentiment>> sentimentsByModel = new HashMap<>();
+                for (String model : models) {
+                    sentimentsByModel.put(model, classifyBatch(comments, model, statsByModel.get(model)));
+                }
+
+                Map<UUID, Sentiment> baseline = sentimentsByModel.get(baselineModel);
+                agreementByModel.forEach((model, agreement) -> agreement.record(baseline, sentimentsByModel.get(model)));
+
+                processed += comments.size();
+                if (modelComparisonRunRepository.updateProgressIfRunning(runId, processed, LocalDateTime.now()) == 0) {
+                    // Marked stale meanwhile, keep the failure rather than overwrite it
+                    log.warn("Model comparison run {} was marked failed, stopping", runId);
+                    return;
+                }
+            }
+
+            if (modelComparisonRunRepository.completeIfRunning(runId,
+                    buildReport(baselineModel, statsByModel, agreementByModel), LocalDateTime.now()) == 0) {
+                log.warn("Model comparison run {} was marked failed, not completing it", runId);
+                return;
+            }
+            log.info("Model comparison run {} completed over {} comments", runId, processed);
+
+        } catch (Exception e) {
+            log.error("Model comparison run {} failed: {}", runId, e.getMessage(), e);
+            modelComparisonRunRepository.failIfIn(runId, ACTIVE_STATUSES, e.getMessage(), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Sentiment per comment for one model, reusing stored results and classifying the rest
+     */
+    private Map<UUID, Sentiment> classifyBatch(List<Comment> comments, String model, ModelStats stats) {
+        Map<UUID, Sentiment> sentiments = new HashMap<>();
+        List<UUID> commentIds = comments.stream().map(Comment::getId).toList();
+        sentimentAnalysisResultRepository.findLatestByCommentIdsAndModelName(commentIds, model)
+                .forEach(result -> sentiments.put(result.getComment().getId(), result.getSentiment()));
+        stats.reused += sentiments.size();
+
+        List<Map.Entry<Comment, CompletableFuture<FastApiService.Classification>>> futures = new ArrayList<>();
+        for (Comment comment : comments) {
+            if (!sentiments.containsKey(comment.getId())) {
+                String content = comment.getContent();
+                futures.add(new AbstractMap.SimpleEntry<>(comment, CompletableFuture.supplyAsync(() -> classificationCacheService.getOrClassify(
+                        content, model, () -> timedClassification(content, model, stats)), classificationExecutor)));
+            }
+        }
+
+        List<Map.Entry<Comment, FastApiService.Classification>> classified = new ArrayList<>(futures.size());
+        for (Map.Entry<Comment, CompletableFuture<FastApiService.Classification>> entry : futures) {
+            try {
+                classified.add(new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().join()));
+            } catch (CompletionException e) {
+                stats.failed++;
+                log.warn("Model {} failed to classify comment ID: {}, Error: {}", model, entry.getKey().getId(), e.getMessage());
+            }
+        }
+
+        sentimentResultBulkWriter.write(model, classified, false);
+        classified.forEach(entry -> sentiments.put(entry.getKey().getId(), entry.getValue().getSentiment()));
+        stats.classified += classified.size();
+
+        return sentiments;
+    }
+
+    private FastApiService.Classification timedClassification(String content, String model, ModelStats stats) {
+        long startNanos = System.nanoTime();
+        FastApiService.Classification classification = fastApiService.classify(content, model);
+        stats.recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return classification;
+    }
+
+    private long countComments(ModelComparisonRun run) {
+        return run.getArticleId() != null
+                ? commentRepository.countByArticleId(run.getArticleId())
+                : commentRepository.countByCreatedAtBetween(run.getFromDate(), run.getToDate());
+    }
+
+    private List<Comment> findComments(ModelComparisonRun run, Pageable pageable) {
+        return run.getArticleId() != null
+                ? commentRepository.findPageByArticleId(run.getArticleId(), pageable)
+                : commentRepository.findPageByCreatedAtBetween(run.getFromDate(), run.getToDate(), pageable);
+    }
+
+    private Map<String, Object> buildReport(String baselineModel, Map<String, ModelStats> statsByModel,
+                                            Map<String, Agreement> agreementByModel) {
+        Map<String, Object> models = new LinkedHashMap<>();
+        statsByModel.forEach((model, stats) -> models.put(model, stats.toReport()));
+
+        Map<String, Object> agreement = new LinkedHashMap<>();
+        agreementByModel.forEach((model, modelAgreement) -> agreement.put(model, modelAgreement.toReport()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baselineModel", baselineModel);
+        report.put("models", models);
+        report.put("agreement", agreement);
+        return report;
+    }
+
+    /**
+     * Counts and FastAPI latencies of one model in a run
+     */
+    private static class ModelStats {
+        private int reused;
+        private int classified;
+        private int failed;
+        private final List<Long> latenciesMillis = new ArrayList<>();
+
+        synchronized void recordLatency(long millis) {
+            latenciesMillis.add(millis);
+        }
+
+        synchronized Map<String, Object> toReport() {
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("count", latenciesMillis.size());
+            if (!latenciesMillis.isEmpty()) {
+                long[] sorted = latenciesMillis.stream().mapToLong(Long::longValue).sorted().toArray();
+                latency.put("mean", Arrays.stream(sorted).average().orElse(0));
+                latency.put("p50", percentile(sorted, 0.5));
+                latency.put("p95", percentile(sorted, 0.95));
+                latency.put("max", sorted[sorted.length - 1]);
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("reusedResults", reused);
+            report.put("classified", classified);
+            report.put("failed", failed);
+            report.put("latencyMillis", latency);
+            return report;
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+        }
+    }
+
+    /**
+     * Agreement of a candidate model with the baseline, with the confusion matrix
+     * keyed by baseline sentiment then candidate sentiment
+     */
+    private static class Agreement {
+        private long compared;
+        private long agreed;
+        private final Map<String, Map<String, Long>> confusionMatrix = new LinkedHashMap<>();
+
+        Agreement() {
+            for (Sentiment baseline : Sentiment.values()) {
+                Map<String, Long> row = new LinkedHashMap<>();
+                for (Sentiment candidate : Sentiment.values()) {
+                    row.put(candidate.name(), 0L);
+                }
+                confusionMatrix.put(baseline.name(), row);
+            }
+        }
+
+        void record(Map<UUID, Sentiment> baseline, Map<UUID, Sentiment> candidate) {
+            baseline.forEach((commentId, baselineSentiment) -> {
+                Sentiment candidateSentiment = candidate.get(commentId);
+                if (candidateSentiment == null) {
+                    return;
+                }
+                compared++;
+                if (candidateSentiment == baselineSentiment) {
+                    agreed++;
+                }
+                confusionMatrix.get(baselineSentiment.name()).merge(candidateSentiment.name(), 1L, Long::sum);
+            });
+        }
+
+        Map<String, Object> toReport() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("compared", compared);
+            report.put("agreed", agreed);
+            report.put("agreementRate", compared > 0 ? (double) agreed / compared : null);
+            report.put("confusionMatrix", confusionMatrix);
+            return report;
+        }
+    }
+}
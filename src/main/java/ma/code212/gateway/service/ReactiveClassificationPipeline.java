@@ -0,0 +1,229 @@
+package ma.code212.gateway.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.exception.UpstreamUnavailableException;
+import ma.code212.gateway.model.Comment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Demand-driven classification of the unprocessed comment backlog.
+ * Comments are claimed in batches only when downstream requests more, classified
+ * with at most {@code concurrency} non-blocking FastAPI calls in flight, and
+ * written in buffered bulk transactions, so the backlog drains at the rate the
+ * model sustains without unbounded in-memory queues. Blocking Redis and JDBC work
+ * runs on the bounded elastic scheduler.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveClassificationPipeline {
+
+    private final WebClient fastApiWebClient;
+    private final FastApiService fastApiService;
+    private final FastApiLoadBalancer loadBalancer;
+    private final CommentService commentService;
+    private final SentimentAnalysisResultService sentimentAnalysisResultService;
+    private final ClassificationCacheService classificationCacheService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${classification.auto.model-name:default_model}")
+    private String modelName;
+
+    @Value("${classification.auto.lease:300}")
+    private long leaseSeconds;
+
+    @Value("${classification.reactive.claim-size:100}")
+    private int claimSize;
+
+    @Value("${classification.reactive.concurrency:8}")
+    private int concurrency;
+
+    @Value("${classification.reactive.write-batch-size:100}")
+    private int writeBatchSize;
+
+    @Value("${classification.reactive.flush-interval:1000}")
+    private long flushIntervalMillis;
+
+    @Value("${classification.reactive.timeout:30000}")
+    private long timeoutMillis;
+
+    @Value("${external.fastapi.classification.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${external.fastapi.classification.backoff-initial:100}")
+    private long backoffInitialMillis;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private volatile DrainResult lastResult;
+
+    private Counter classifiedCounter;
+
+    private Counter failedCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        // Shared with the batch pipeline so throughput dashboards do not depend on the mode
+        classifiedCounter = Counter.builder("classification.auto.comments")
+                .tag("outcome", "classified")
+                .description("Comments classified by the background pipeline")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("classification.auto.comments")
+                .tag("outcome", "failed")
+                .description("Comments left for retry after a failed classification")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drain the backlog until no claimable comment is left. Completes empty when a
+     * drain is already running on this instance.
+     */
+    public Mono<DrainResult> drain() {
+        return Mono.defer(() -> {
+            if (!draining.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+
+            long startNanos = System.nanoTime();
+            AtomicInteger failed = new AtomicInteger();
+
+            return Flux.<List<Comment>>generate(sink -> {
+                        List<Comment> claimed = commentService.claimUnprocessedComments(claimSize, leaseSeconds);
+                        if (claimed.isEmpty()) {
+                            sink.complete();
+                        } else {
+                            sink.next(claimed);
+                        }
+                    })
+                    .subscribeOn(Schedulers.boundedElastic())
+                    // Claim the next batch only once the current one is consumed
+                    .concatMapIterable(Function.identity(), 1)
+                    .flatMap(comment -> classify(comment)
+                            .onErrorResume(e -> {
+                                failed.incrementAndGet();
+                                failedCounter.increment();
+                                log.warn("Failed to classify comment ID: {}, Error: {}", comment.getId(), e.getMessage());
+                                return recordFailure(comment, e);
+                            }), concurrency, 1)
+                    .bufferTimeout(writeBatchSize, Duration.ofMillis(flushIntervalMillis), true)
+                    .concatMap(this::write, 1)
+                    .reduce(0, Integer::sum)
+                    .map(classified -> DrainResult.builder()
+                            .classified(classified)
+                            .failed(failed.get())
+                            .durationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                            .finishedAt(LocalDateTime.now())
+                            .build())
+                    .doOnNext(result -> {
+                        lastResult = result;
+                        log.info("Reactive classification drain finished: {} classified, {} failed in {} ms",
+                                result.getClassified(), result.getFailed(), result.getDurationMillis());
+                    })
+                    .doFinally(signal -> draining.set(false));
+        });
+    }
+
+    public boolean isDraining() {
+        return draining.get();
+    }
+
+    public DrainResult getLastResult() {
+        return lastResult;
+    }
+
+    private Mono<Map.Entry<Comment, FastApiService.Classification>> classify(Comment comment) {
+        String content = comment.getContent();
+        return Mono.fromCallable(() -> classificationCacheService.getCachedClassification(content, modelName))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(Mono.defer(() -> callFastApi(content)
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(classification -> classificationCacheService.cacheClassification(content, modelName, classification))))
+                .map(classification -> Map.entry(comment, classification));
+    }
+
+    /**
+     * Classify through the load balancer, the endpoint's bulkhead and the
+     * instance's circuit breaker, like the blocking client. Each attempt picks
+     * its own instance; timeouts count against the instance that was slow.
+     */
+    private Mono<FastApiService.Classification> callFastApi(String content) {
+        String endpoint = FastApiLoadBalancer.CLASSIFICATION_ENDPOINT;
+        return Mono.defer(() -> {
+                    String baseUrl = loadBalancer.choose(endpoint);
+                    Mono<String> request = fastApiWebClient.post()
+                            .uri(baseUrl + endpoint)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON)
+                            .bodyValue(fastApiService.createCommentInput(content, modelName))
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .timeout(Duration.ofMillis(timeoutMillis));
+                    return loadBalancer.execute(endpoint, baseUrl, fastApiService.callUpstream(endpoint, baseUrl, request));
+                })
+                .retryWhen(Retry.backoff(Math.max(0, maxAttempts - 1), Duration.ofMillis(backoffInitialMillis))
+                        // Open circuit, full bulkhead or invalid request: retrying will not help
+                        .filter(e -> !(e instanceof UpstreamUnavailableException
+                                || e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError())))
+                .map(fastApiService::parseClassification);
+    }
+
+    /**
+     * Count the failed attempt against the comment, unless FastAPI was unavailable
+     */
+    private <T> Mono<T> recordFailure(Comment comment, Throwable error) {
+        if (error instanceof UpstreamUnavailableException) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> commentService.recordClassificationFailure(List.of(comment.getId())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn("Could not record failed classification of comment ID: {}, Error: {}", comment.getId(), e.getMessage());
+                    return Mono.empty();
+                })
+                .then(Mono.empty());
+    }
+
+    private Mono<Integer> write(List<Map.Entry<Comment, FastApiService.Classification>> batch) {
+        return Mono.fromCallable(() -> {
+                    sentimentAnalysisResultService.createSentimentAnalysisResults(modelName, batch);
+                    classifiedCounter.increment(batch.size());
+                    return batch.size();
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Outcome of one backlog drain
+     */
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class DrainResult {
+        private int classified;
+        private int failed;
+        private long durationMillis;
+        private LocalDateTime finishedAt;
+    }
+}
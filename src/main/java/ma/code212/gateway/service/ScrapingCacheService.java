@@ -1,53 +1,197 @@
 package ma.code212.gateway.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.security.MessageDigest;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * Service for caching scraped comments from URLs
+ * Service for caching scraped comments from URLs.
+ * Entries are fresh for the soft TTL ({@code cache.scraping.ttl}) and kept in
+ * Redis until the hard TTL; stale entries are served while a single background
+ * refresh re-scrapes the URL. When adaptive TTL is enabled the soft TTL is
+ * computed per URL from the comment churn observed between consecutive scrapes.
+ * Keys are derived from the canonical URL, so tracking parameters and case or
+ * trailing-slash differences do not split entries.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ScrapingCacheService {
 
+    // Deletes the refresh lock only if it still holds this refresh's token
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final CacheKeyGenerator cacheKeyGenerator;
+    private final UrlCanonicalizer urlCanonicalizer;
 
     @Value("${cache.scraping.ttl:3600}")
     private long cacheTtlSeconds;
 
+    @Value("${cache.scraping.hard-ttl:86400}")
+    private long hardTtlSeconds;
+
     @Value("${cache.scraping.key-prefix:scraping}")
     private String keyPrefix;
 
+    @Value("${cache.scraping.refresh-concurrency:2}")
+    private int refreshConcurrency;
+
+    @Value("${cache.scraping.refresh-lock-ttl:120}")
+    private long refreshLockTtlSeconds;
+
+    @Value("${cache.scraping.adaptive.enabled:true}")
+    private boolean adaptiveTtlEnabled;
+
+    @Value("${cache.scraping.adaptive.min-ttl:600}")
+    private long minTtlSeconds;
+
+    @Value("${cache.scraping.adaptive.max-ttl:86400}")
+    private long maxTtlSeconds;
+
+    @Value("${cache.scraping.adaptive.target-new-comments:5}")
+    private double targetNewCommentsPerRefresh;
+
+    @Value("${cache.scraping.adaptive.growth-factor:2.0}")
+    private double stableGrowthFactor;
+
+    @Value("${cache.scraping.adaptive.stable-age-hours:48}")
+    private long stableAgeHours;
+
+    private final Map<String, CompletableFuture<Void>> inFlightRefreshes = new ConcurrentHashMap<>();
+
+    private ExecutorService refreshExecutor;
+
+    private DistributionSummary ttlDistribution;
+
+    private Counter scrapesSavedCounter;
+
+    private Counter hitCounter;
+
+    private Counter staleHitCounter;
+
+    private Counter missCounter;
+
+    @PostConstruct
+    void initRefreshExecutor() {
+        refreshExecutor = Executors.newFixedThreadPool(refreshConcurrency);
+        
+        ttlDistribution = DistributionSummary.builder("scraping.cache.ttl")
+                .description("Soft TTL assigned to scraping cache entries")
+                .baseUnit("seconds")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        scrapesSavedCounter = Counter.builder("scraping.cache.scrapes.saved")
+                .description("Estimated scrapes avoided by extending TTL beyond the base TTL")
+                .register(meterRegistry);
+        
+        hitCounter = lookupCounter("hit", "Lookups answered with a fresh cache entry");
+        staleHitCounter = lookupCounter("stale", "Lookups answered with a stale entry while it is refreshed");
+        missCounter = lookupCounter("miss", "Lookups without a cache entry");
+        Gauge.builder("scraping.cache.hit.ratio", this, ScrapingCacheService::hitRatio)
+                .description("Share of lookups answered from the cache, stale entries included")
+                .register(meterRegistry);
+        Gauge.builder("scraping.cache.fresh.hit.ratio", this, ScrapingCacheService::freshHitRatio)
+                .description("Share of lookups answered with a fresh cache entry")
+                .register(meterRegistry);
+    }
+
+    private Counter lookupCounter(String result, String description) {
+        return Counter.builder("scraping.cache.lookups")
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private double hitRatio() {
+        double lookups = hitCounter.count() + staleHitCounter.count() + missCounter.count();
+        return lookups == 0 ? 0 : (hitCounter.count() + staleHitCounter.count()) / lookups;
+    }
+
+    private double freshHitRatio() {
+        double lookups = hitCounter.count() + staleHitCounter.count() + missCounter.count();
+        return lookups == 0 ? 0 : hitCounter.count() / lookups;
+    }
+
+    private void recordLookup(ScrapedCommentsCache cached) {
+        if (cached == null) {
+            missCounter.increment();
+        } else if (isStale(cached)) {
+            staleHitCounter.increment();
+        } else {
+            hitCounter.increment();
+        }
+    }
+
+    @PreDestroy
+    void shutdownRefreshExecutor() {
+        refreshExecutor.shutdownNow();
+    }
+
     /**
      * Cache scraped comments for a URL
      */
+    @Observed(name = "scraping.cache.operation", contextualName = "scraping-cache put", lowCardinalityKeyValues = {"operation", "put"})
     public void cacheScrapedComments(String url, List<String> comments, int totalComments) {
         try {
             String cacheKey = generateCacheKey(url);
+            long now = System.currentTimeMillis();
+            
+            ScrapedCommentsCache previous = adaptiveTtlEnabled ? getCachedComments(url) : null;
+            long softTtl = computeSoftTtl(previous, totalComments, now);
+            long hardTtl = Math.max(hardTtlSeconds, softTtl * 2);
             
             ScrapedCommentsCache cacheData = ScrapedCommentsCache.builder()
                     .url(url)
                     .comments(comments)
                     .totalComments(totalComments)
-                    .timestamp(System.currentTimeMillis())
+                    .timestamp(now)
+                    .firstSeenAt(previous != null && previous.getFirstSeenAt() > 0 ? previous.getFirstSeenAt() : now)
+                    .ttlSeconds(softTtl)
                     .build();
             
-            redisTemplate.opsForValue().set(cacheKey, cacheData, Duration.ofSeconds(cacheTtlSeconds));
+            redisTemplate.opsForValue().set(cacheKey, cacheData, Duration.ofSeconds(hardTtl));
+            
+            ttlDistribution.record(softTtl);
+            if (softTtl > cacheTtlSeconds) {
+                scrapesSavedCounter.increment((double) softTtl / cacheTtlSeconds - 1);
+            }
             
-            log.info("Cached scraped comments for URL: {} with {} comments, TTL: {} seconds", 
-                    url, comments.size(), cacheTtlSeconds);
+            log.info("Cached scraped comments for URL: {} with {} comments, soft TTL: {} seconds, hard TTL: {} seconds", 
+                    url, comments.size(), softTtl, hardTtl);
             
         } catch (Exception e) {
             log.error("Failed to cache scraped comments for URL: {}, Error: {}", url, e.getMessage(), e);
@@ -57,6 +201,7 @@ public class ScrapingCacheService {
     /**
      * Get cached scraped comments for a URL
      */
+    @Observed(name = "scraping.cache.operation", contextualName = "scraping-cache get", lowCardinalityKeyValues = {"operation", "get"})
     public ScrapedCommentsCache getCachedComments(String url) {
         try {
             String cacheKey = generateCacheKey(url);
@@ -77,9 +222,138 @@ public class ScrapingCacheService {
         }
     }
 
+    /**
+     * Get cached comments for a URL, serving stale entries immediately and
+     * scheduling a single background refresh through the given loader.
+     * Returns null only when nothing is cached (hard TTL expired).
+     */
+    @Observed(name = "scraping.cache.operation", contextualName = "scraping-cache get with revalidation", lowCardinalityKeyValues = {"operation", "get_with_revalidation"})
+    public ScrapedCommentsCache getCachedCommentsWithRevalidation(String url, Supplier<FastApiService.ScrapedComments> loader) {
+        ScrapedCommentsCache cached = getCachedComments(url);
+        recordLookup(cached);
+        
+        if (cached != null && isStale(cached)) {
+            log.info("Serving stale cache for URL: {} (age {} seconds), scheduling refresh", url, getAgeSeconds(cached));
+            refreshInBackground(url, loader);
+        }
+        
+        return cached;
+    }
+
+    /**
+     * Age of a cache entry in seconds
+     */
+    public long getAgeSeconds(ScrapedCommentsCache cached) {
+        return Math.max(0, (System.currentTimeMillis() - cached.getTimestamp()) / 1000);
+    }
+
+    /**
+     * Whether a cache entry is older than the soft TTL
+     */
+    public boolean isStale(ScrapedCommentsCache cached) {
+        return getSecondsUntilStale(cached) <= 0;
+    }
+
+    /**
+     * Seconds left before a cache entry becomes stale (negative once stale)
+     */
+    public long getSecondsUntilStale(ScrapedCommentsCache cached) {
+        long softTtl = cached.getTtlSeconds() > 0 ? cached.getTtlSeconds() : cacheTtlSeconds;
+        return softTtl - getAgeSeconds(cached);
+    }
+
+    /**
+     * Compute the soft TTL for a URL from the comment churn since the previous scrape.
+     * Hot pages get a TTL sized so roughly {@code target-new-comments} arrive between
+     * refreshes; pages without new comments have their TTL grown geometrically, and
+     * jump straight to the maximum once the article has been stable for
+     * {@code stable-age-hours}. The result is clamped to [min-ttl, max-ttl].
+     */
+    long computeSoftTtl(ScrapedCommentsCache previous, int totalComments, long now) {
+        if (!adaptiveTtlEnabled || previous == null || previous.getTimestamp() <= 0) {
+            return cacheTtlSeconds;
+        }
+        
+        double hoursSinceLastScrape = Math.max(1.0 / 60, (now - previous.getTimestamp()) / 3_600_000.0);
+        int newComments = Math.max(0, totalComments - previous.getTotalComments());
+        double commentsPerHour = newComments / hoursSinceLastScrape;
+        long previousTtl = previous.getTtlSeconds() > 0 ? previous.getTtlSeconds() : cacheTtlSeconds;
+        
+        long ttl;
+        if (commentsPerHour == 0) {
+            long firstSeenAt = previous.getFirstSeenAt() > 0 ? previous.getFirstSeenAt() : previous.getTimestamp();
+            double articleAgeHours = (now - firstSeenAt) / 3_600_000.0;
+            ttl = articleAgeHours >= stableAgeHours
+                    ? maxTtlSeconds
+                    : (long) (previousTtl * stableGrowthFactor);
+        } else {
+            ttl = (long) (targetNewCommentsPerRefresh / commentsPerHour * 3600);
+        }
+        
+        return Math.max(minTtlSeconds, Math.min(maxTtlSeconds, ttl));
+    }
+
+    /**
+     * Refresh a URL in the background, at most once at a time per URL.
+     * The in-process map collapses concurrent callers, the Redis lock
+     * collapses refreshes across gateway replicas.
+     */
+    private void refreshInBackground(String url, Supplier<FastApiService.ScrapedComments> loader) {
+        CompletableFuture<Void> refresh = new CompletableFuture<>();
+        if (inFlightRefreshes.putIfAbsent(url, refresh) != null) {
+            log.debug("Refresh already in flight for URL: {}", url);
+            return;
+        }
+        
+        try {
+            CompletableFuture.runAsync(() -> refreshWithLock(url, loader), refreshExecutor)
+                    .whenComplete((ignored, error) -> {
+                        inFlightRefreshes.remove(url);
+                        refresh.complete(null);
+                    });
+        } catch (Exception e) {
+            inFlightRefreshes.remove(url);
+            log.error("Failed to schedule background refresh for URL: {}, Error: {}", url, e.getMessage(), e);
+        }
+    }
+
+    private void refreshWithLock(String url, Supplier<FastApiService.ScrapedComments> loader) {
+        String lockKey = generateCacheKey(url) + ":refresh-lock";
+        String lockToken = UUID.randomUUID().toString();
+        boolean acquired = false;
+        try {
+            acquired = Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(lockKey, lockToken, Duration.ofSeconds(refreshLockTtlSeconds)));
+            if (!acquired) {
+                log.debug("Refresh already running on another instance for URL: {}", url);
+                return;
+            }
+            
+            FastApiService.ScrapedComments scraped = loader.get();
+            cacheScrapedComments(url, scraped.getComments(), scraped.getTotalComments());
+            log.info("Background refresh completed for URL: {}", url);
+            
+        } catch (Exception e) {
+            log.error("Background refresh failed for URL: {}, Error: {}", url, e.getMessage(), e);
+        } finally {
+            if (acquired) {
+                try {
+                    // The lock may have expired and been taken by another instance
+                    Long released = redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), lockToken);
+                    if (!Long.valueOf(1).equals(released)) {
+                        log.warn("Refresh lock for URL: {} expired before the refresh finished", url);
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to release refresh lock for URL: {}, Error: {}", url, e.getMessage());
+                }
+            }
+        }
+    }
+
     /**
      * Check if comments are cached for a URL
      */
+    @Observed(name = "scraping.cache.operation", contextualName = "scraping-cache exists", lowCardinalityKeyValues = {"operation", "exists"})
     public boolean isCached(String url) {
         try {
             String cacheKey = generateCacheKey(url);
@@ -93,6 +367,7 @@ public class ScrapingCacheService {
     /**
      * Clear cache for a specific URL
      */
+    @Observed(name = "scraping.cache.operation", contextualName = "scraping-cache delete", lowCardinalityKeyValues = {"operation", "delete"})
     public void clearCache(String url) {
         try {
             String cacheKey = generateCacheKey(url);
@@ -106,6 +381,7 @@ public class ScrapingCacheService {
     /**
      * Get remaining TTL for cached URL
      */
+    @Observed(name = "scraping.cache.operation", contextualName = "scraping-cache ttl", lowCardinalityKeyValues = {"operation", "ttl"})
     public long getRemainingTtl(String url) {
         try {
             String cacheKey = generateCacheKey(url);
@@ -117,28 +393,130 @@ public class ScrapingCacheService {
     }
 
     /**
-     * Generate cache key for URL using SHA-256 hash
+     * Get cached scraped comments for several URLs with a single MGET.
+     * URLs without a cache entry are absent from the returned map.
      */
-    private String generateCacheKey(String url) {
+    @Observed(name = "scraping.cache.operation", contextualName = "scraping-cache get batch", lowCardinalityKeyValues = {"operation", "get_batch"})
+    public Map<String, ScrapedCommentsCache> getCachedCommentsBatch(List<String> urls) {
+        Map<String, ScrapedCommentsCache> result = new LinkedHashMap<>();
+        if (urls.isEmpty()) {
+            return result;
+        }
+        
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(url.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-            
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
+            List<String> cacheKeys = urls.stream().map(this::generateCacheKey).toList();
+            List<Object> cachedValues = redisTemplate.opsForValue().multiGet(cacheKeys);
+            
+            if (cachedValues != null) {
+                for (int i = 0; i < urls.size(); i++) {
+                    Object cachedData = cachedValues.get(i);
+                    if (cachedData != null) {
+                        result.put(urls.get(i), objectMapper.convertValue(cachedData, ScrapedCommentsCache.class));
+                    }
                 }
-                hexString.append(hex);
             }
             
-            return keyPrefix + ":" + hexString.toString();
+            for (String url : urls) {
+                recordLookup(result.get(url));
+            }
+            log.info("Batch cache lookup for {} URLs: {} hits", urls.size(), result.size());
+            
         } catch (Exception e) {
-            log.error("Failed to generate cache key for URL: {}, Error: {}", url, e.getMessage(), e);
-            // Fallback to base64 encoding
-            return keyPrefix + ":" + java.util.Base64.getEncoder().encodeToString(url.getBytes(StandardCharsets.UTF_8));
+            log.error("Failed to get cached comments for {} URLs, Error: {}", urls.size(), e.getMessage(), e);
         }
+        
+        return result;
+    }
+
+    /**
+     * Batch variant of {@link #getCachedCommentsWithRevalidation}: stale entries are
+     * returned and a single background refresh is scheduled for each of them
+     * through the given loader.
+     */
+    @Observed(name = "scraping.cache.operation", contextualName = "scraping-cache get batch with revalidation", lowCardinalityKeyValues = {"operation", "get_batch_with_revalidation"})
+    public Map<String, ScrapedCommentsCache> getCachedCommentsBatchWithRevalidation(List<String> urls,
+                                                                                  Function<String, FastApiService.ScrapedComments> loader) {
+        Map<String, ScrapedCommentsCache> result = getCachedCommentsBatch(urls);
+        
+        result.forEach((url, cached) -> {
+            if (isStale(cached)) {
+                log.info("Serving stale cache for URL: {} (age {} seconds), scheduling refresh", url, getAgeSeconds(cached));
+                refreshInBackground(url, () -> loader.apply(url));
+            }
+        });
+        
+        return result;
+    }
+
+    /**
+     * Check which URLs are cached with one pipelined round trip of EXISTS commands
+     */
+    @Observed(name = "scraping.cache.operation", contextualName = "scraping-cache exists batch", lowCardinalityKeyValues = {"operation", "exists_batch"})
+    public Map<String, Boolean> isCachedBatch(List<String> urls) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        urls.forEach(url -> result.put(url, false));
+        if (urls.isEmpty()) {
+            return result;
+        }
+        
+        try {
+            List<Object> exists = pipelineKeyCommands(urls,
+                    (connection, key) -> connection.keyCommands().exists(key));
+            
+            for (int i = 0; i < urls.size(); i++) {
+                result.put(urls.get(i), Boolean.TRUE.equals(exists.get(i)));
+            }
+            
+        } catch (Exception e) {
+            log.error("Failed to check cache for {} URLs, Error: {}", urls.size(), e.getMessage(), e);
+        }
+        
+        return result;
+    }
+
+    /**
+     * Get remaining TTLs for several URLs with one pipelined round trip of TTL commands.
+     * Values follow Redis semantics: -2 when missing, -1 when no expiry or on failure.
+     */
+    @Observed(name = "scraping.cache.operation", contextualName = "scraping-cache ttl batch", lowCardinalityKeyValues = {"operation", "ttl_batch"})
+    public Map<String, Long> getRemainingTtlBatch(List<String> urls) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        urls.forEach(url -> result.put(url, -1L));
+        if (urls.isEmpty()) {
+            return result;
+        }
+        
+        try {
+            List<Object> ttls = pipelineKeyCommands(urls,
+                    (connection, key) -> connection.keyCommands().ttl(key, TimeUnit.SECONDS));
+            
+            for (int i = 0; i < urls.size(); i++) {
+                if (ttls.get(i) instanceof Long ttl) {
+                    result.put(urls.get(i), ttl);
+                }
+            }
+            
+        } catch (Exception e) {
+            log.error("Failed to get TTL for {} URLs, Error: {}", urls.size(), e.getMessage(), e);
+        }
+        
+        return result;
+    }
+
+    private List<Object> pipelineKeyCommands(List<String> urls, BiConsumer<RedisConnection, byte[]> command) {
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String url : urls) {
+                command.accept(connection, generateCacheKey(url).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Generate cache key for URL using SHA-256 hash
+     */
+    private String generateCacheKey(String url) {
+        return cacheKeyGenerator.sha256Key(keyPrefix, urlCanonicalizer.canonicalize(url));
     }
 
     /**
@@ -153,5 +531,7 @@ public class ScrapingCacheService {
         private List<String> comments;
         private int totalComments;
         private long timestamp;
+        private long firstSeenAt;
+        private long ttlSeconds;
     }
 }
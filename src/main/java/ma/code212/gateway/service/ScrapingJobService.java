@@ -1,125 +1,193 @@
 package ma.code212.gateway.service;
 
+import ma.code212.gateway.dto.ScrapingJobSummaryDto;
 import ma.code212.gateway.model.ScrapingJob;
 import ma.code212.gateway.model.User;
 import ma.code212.gateway.enums.JobStatus;
 import ma.code212.gateway.repository.ScrapingJobRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Scraping job lifecycle. Jobs are created directly in RUNNING state and later
+ * transitions are single guarded UPDATEs by ID, so a scrape costs one INSERT and
+ * one UPDATE, and a transition never overwrites a job that already moved on
+ * (e.g. a cancel racing a completion); completing or failing a job that already
+ * moved on returns its persisted state instead of failing the caller. Cache hits
+ * are stored as completed jobs in one INSERT, or only counted when
+ * {@code scraping.jobs.persist-cache-hits} is off.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ScrapingJobService {
 
+    private static final List<JobStatus> ACTIVE_STATUSES = List.of(JobStatus.PENDING, JobStatus.RUNNING);
+
     private final ScrapingJobRepository scrapingJobRepository;
+    private final MeterRegistry meterRegistry;
+    private final UrlCanonicalizer urlCanonicalizer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${scraping.jobs.persist-cache-hits:true}")
+    private boolean persistCacheHits;
+
+    private Counter persistedCacheHitCounter;
+
+    private Counter countedCacheHitCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        persistedCacheHitCounter = Counter.builder("scraping.job.cache.hits")
+                .tag("persisted", "true")
+                .description("Scrapes served from the cache and stored as completed jobs")
+                .register(meterRegistry);
+        countedCacheHitCounter = Counter.builder("scraping.job.cache.hits")
+                .tag("persisted", "false")
+                .description("Scrapes served from the cache without storing a job")
+                .register(meterRegistry);
+    }
 
     /**
-     * Create a new scraping job
+     * Create a scraping job directly in RUNNING state
      */
     @Transactional
-    public ScrapingJob createScrapingJob(User user, String targetUrl, Map<String, Object> configuration) {
-        log.info("Creating new scraping job for user: {} and URL: {}", user.getId(), targetUrl);
+    @Timed(value = "scraping.job.transition", extraTags = {"transition", "start"})
+    public ScrapingJob startScrapingJob(User user, String targetUrl, Map<String, Object> configuration) {
+        log.info("Starting new scraping job for user: {} and URL: {}", user.getId(), targetUrl);
         
         ScrapingJob scrapingJob = ScrapingJob.builder()
                 .user(user)
                 .targetUrl(targetUrl)
-                .status(JobStatus.PENDING)
+                .status(JobStatus.RUNNING)
+                .startTime(LocalDateTime.now())
                 .pagesScraped(0)
                 .commentsFound(0)
                 .configuration(configuration)
                 .build();
         
         ScrapingJob savedJob = scrapingJobRepository.save(scrapingJob);
-        log.info("Created scraping job with ID: {}", savedJob.getId());
+        log.info("Started scraping job with ID: {}", savedJob.getId());
         
         return savedJob;
     }
 
     /**
-     * Start a scraping job
+     * Record a scrape served from the cache, as a job created directly in COMPLETED
+     * state, or only as a counter when cache hits are not persisted
      */
     @Transactional
-    public ScrapingJob startScrapingJob(UUID jobId) {
-        log.info("Starting scraping job with ID: {}", jobId);
-        
-        ScrapingJob job = scrapingJobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Scraping job not found with ID: " + jobId));
+    @Timed(value = "scraping.job.transition", extraTags = {"transition", "cache_hit"})
+    public Optional<ScrapingJob> recordCachedScrapingJob(User user, String targetUrl, Map<String, Object> configuration,
+                                                         int pagesScraped, int commentsFound) {
+        if (!persistCacheHits) {
+            countedCacheHitCounter.increment();
+            return Optional.empty();
+        }
         
-        job.setStatus(JobStatus.RUNNING);
-        job.setStartTime(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        ScrapingJob scrapingJob = ScrapingJob.builder()
+                .user(user)
+                .targetUrl(targetUrl)
+                .status(JobStatus.COMPLETED)
+                .startTime(now)
+                .endTime(now)
+                .pagesScraped(pagesScraped)
+                .commentsFound(commentsFound)
+                .configuration(configuration)
+                .build();
         
-        ScrapingJob updatedJob = scrapingJobRepository.save(job);
-        log.info("Started scraping job with ID: {}", updatedJob.getId());
+        ScrapingJob savedJob = scrapingJobRepository.save(scrapingJob);
+        persistedCacheHitCounter.increment();
+        log.info("Recorded cached scraping job with ID: {}", savedJob.getId());
         
-        return updatedJob;
+        return Optional.of(savedJob);
     }
 
     /**
-     * Complete a scraping job successfully
+     * Complete a running scraping job successfully. The given job is updated to
+     * match and returned; when the job is no longer running (e.g. it was
+     * cancelled meanwhile) its persisted state is returned instead.
      */
     @Transactional
-    public ScrapingJob completeScrapingJob(UUID jobId, int pagesScraped, int commentsFound) {
+    @Timed(value = "scraping.job.transition", extraTags = {"transition", "complete"})
+    public ScrapingJob completeScrapingJob(ScrapingJob job, int pagesScraped, int commentsFound) {
         log.info("Completing scraping job with ID: {}, pages: {}, comments: {}", 
-                jobId, pagesScraped, commentsFound);
+                job.getId(), pagesScraped, commentsFound);
         
-        ScrapingJob job = scrapingJobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Scraping job not found with ID: " + jobId));
+        LocalDateTime now = LocalDateTime.now();
+        if (scrapingJobRepository.completeIfRunning(job.getId(), pagesScraped, commentsFound, now) == 0) {
+            return persistedState(job);
+        }
         
         job.setStatus(JobStatus.COMPLETED);
-        job.setEndTime(LocalDateTime.now());
+        job.setEndTime(now);
         job.setPagesScraped(pagesScraped);
         job.setCommentsFound(commentsFound);
+        job.setUpdatedAt(now);
+        log.info("Completed scraping job with ID: {}", job.getId());
         
-        ScrapingJob updatedJob = scrapingJobRepository.save(job);
-        log.info("Completed scraping job with ID: {}", updatedJob.getId());
-        
-        return updatedJob;
+        return job;
     }
 
     /**
-     * Fail a scraping job with error message
+     * Fail a pending or running scraping job with error message. The given job is
+     * updated to match and returned; when the job already finished its persisted
+     * state is returned instead.
      */
     @Transactional
-    public ScrapingJob failScrapingJob(UUID jobId, String errorMessage) {
-        log.error("Failing scraping job with ID: {} due to error: {}", jobId, errorMessage);
-        
-        ScrapingJob job = scrapingJobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Scraping job not found with ID: " + jobId));
+    @Timed(value = "scraping.job.transition", extraTags = {"transition", "fail"})
+    public ScrapingJob failScrapingJob(ScrapingJob job, String errorMessage) {
+        log.error("Failing scraping job with ID: {} due to error: {}", job.getId(), errorMessage);
         
-        job.setStatus(JobStatus.FAILED);
-        job.setEndTime(LocalDateTime.now());
-        job.setErrors(errorMessage);
-        
-        ScrapingJob updatedJob = scrapingJobRepository.save(job);
-        log.error("Failed scraping job with ID: {}", updatedJob.getId());
+        if (!finish(job, JobStatus.FAILED, errorMessage)) {
+            return persistedState(job);
+        }
+        log.error("Failed scraping job with ID: {}", job.getId());
         
-        return updatedJob;
+        return job;
     }
 
     /**
-     * Update scraping job progress
+     * Update progress of a running scraping job. The given job is updated to match
+     * and returned.
      */
     @Transactional
-    public ScrapingJob updateScrapingJobProgress(UUID jobId, int pagesScraped, int commentsFound) {
+    @Timed(value = "scraping.job.transition", extraTags = {"transition", "progress"})
+    public ScrapingJob updateScrapingJobProgress(ScrapingJob job, int pagesScraped, int commentsFound) {
         log.debug("Updating scraping job progress - ID: {}, pages: {}, comments: {}", 
-                jobId, pagesScraped, commentsFound);
+                job.getId(), pagesScraped, commentsFound);
         
-        ScrapingJob job = scrapingJobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Scraping job not found with ID: " + jobId));
+        LocalDateTime now = LocalDateTime.now();
+        if (scrapingJobRepository.updateProgressIfRunning(job.getId(), pagesScraped, commentsFound, now) == 0) {
+            throw new IllegalStateException("Scraping job " + job.getId() + " is no longer running");
+        }
         
         job.setPagesScraped(pagesScraped);
         job.setCommentsFound(commentsFound);
+        job.setUpdatedAt(now);
         
-        return scrapingJobRepository.save(job);
+        return job;
     }
 
     /**
@@ -143,6 +211,20 @@ public class ScrapingJobService {
         return scrapingJobRepository.findByUserId(userId);
     }
 
+    /**
+     * Summaries of a user's scraping jobs, most recent first, read without loading entities
+     */
+    public List<ScrapingJobSummaryDto> findSummariesByUserId(UUID userId) {
+        return scrapingJobRepository.findSummariesByUserId(userId);
+    }
+
+    /**
+     * Summaries of a user's scraping jobs in a status, most recent first
+     */
+    public List<ScrapingJobSummaryDto> findSummariesByUserIdAndStatus(UUID userId, JobStatus status) {
+        return scrapingJobRepository.findSummariesByUserIdAndStatus(userId, status);
+    }
+
     /**
      * Find scraping jobs by status
      */
@@ -165,24 +247,72 @@ public class ScrapingJobService {
     }
 
     /**
-     * Cancel a scraping job
+     * Find the most frequently scraped articles since a given time. URL variants of
+     * one article are counted together by canonical URL, and each article is
+     * returned as its most requested URL.
      */
-    @Transactional
-    public ScrapingJob cancelScrapingJob(UUID jobId, String reason) {
-        log.info("Cancelling scraping job with ID: {} due to: {}", jobId, reason);
+    public List<String> findMostRequestedUrls(LocalDateTime since, int limit) {
+        Map<String, List<ScrapingJobRepository.UrlRequestCount>> countsByCanonicalUrl = scrapingJobRepository
+                .countRequestsByTargetUrlSince(since).stream()
+                .collect(Collectors.groupingBy(count -> urlCanonicalizer.canonicalize(count.getTargetUrl()),
+                        LinkedHashMap::new, Collectors.toList()));
         
-        ScrapingJob job = scrapingJobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Scraping job not found with ID: " + jobId));
+        // Counts come most requested first, so each group starts with its most requested URL
+        return countsByCanonicalUrl.values().stream()
+                .sorted(Comparator.comparingLong(ScrapingJobService::totalRequests).reversed())
+                .limit(limit)
+                .map(counts -> counts.get(0).getTargetUrl())
+                .toList();
+    }
+
+    private static long totalRequests(List<ScrapingJobRepository.UrlRequestCount> counts) {
+        return counts.stream().mapToLong(ScrapingJobRepository.UrlRequestCount::getRequests).sum();
+    }
+
+    /**
+     * Cancel a pending or running scraping job. The given job is updated to match
+     * and returned.
+     */
+    @Transactional
+    @Timed(value = "scraping.job.transition", extraTags = {"transition", "cancel"})
+    public ScrapingJob cancelScrapingJob(ScrapingJob job, String reason) {
+        log.info("Cancelling scraping job with ID: {} due to: {}", job.getId(), reason);
         
-        job.setStatus(JobStatus.CANCELLED);
-        job.setEndTime(LocalDateTime.now());
-        if (reason != null) {
-            job.setErrors(reason);
+        if (!finish(job, JobStatus.CANCELLED, reason)) {
+            throw new IllegalStateException("Scraping job " + job.getId() + " is already finished");
         }
+        log.info("Cancelled scraping job with ID: {}", job.getId());
         
-        ScrapingJob updatedJob = scrapingJobRepository.save(job);
-        log.info("Cancelled scraping job with ID: {}", updatedJob.getId());
+        return job;
+    }
+
+    private boolean finish(ScrapingJob job, JobStatus status, String errors) {
+        LocalDateTime now = LocalDateTime.now();
+        if (scrapingJobRepository.finishIfIn(job.getId(), ACTIVE_STATUSES, status, errors, now) == 0) {
+            return false;
+        }
         
-        return updatedJob;
+        job.setStatus(status);
+        job.setEndTime(now);
+        if (errors != null) {
+            job.setErrors(errors);
+        }
+        job.setUpdatedAt(now);
+        return true;
+    }
+
+    /**
+     * Lost a race with another transition: reload the job as it was committed.
+     * The job may still be managed by the request's persistence context, where
+     * a find would return the stale instance.
+     */
+    private ScrapingJob persistedState(ScrapingJob job) {
+        log.info("Scraping job with ID: {} was already finished by another transition", job.getId());
+        if (entityManager.contains(job)) {
+            entityManager.refresh(job);
+            return job;
+        }
+        ScrapingJob persisted = entityManager.find(ScrapingJob.class, job.getId());
+        return persisted != null ? persisted : job;
     }
 }
@@ -0,0 +1,227 @@
+package ma.code212.gateway.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.model.User;
+import ma.code212.gateway.repository.UserRepository;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps the Hibernate second-level caches of all gateway instances consistent
+ * and reports their hit ratios. Each instance caches users in its own heap;
+ * committed changes to cached entities are published on a Redis channel, and
+ * the other instances evict the entity and the query regions holding results
+ * over that entity. Per-region request counts are exported by Hibernate's own Micrometer
+ * binder under {@code hibernate.second.level.cache.*}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SecondLevelCacheService implements MessageListener {
+
+    private static final String SEPARATOR = "|";
+
+    // Query cache regions whose results are built from each cached entity; a
+    // cacheable query over an entity must use one of its regions
+    private static final Map<String, List<String>> QUERY_REGIONS_BY_ENTITY = Map.of(
+            User.class.getName(), List.of(UserRepository.QUERY_CACHE_REGION));
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cache.hibernate.invalidation.enabled:true}")
+    private boolean invalidationEnabled;
+
+    @Value("${cache.hibernate.invalidation.channel:hibernate-cache-invalidation}")
+    private String invalidationChannel;
+
+    // Messages published by this instance are ignored when they come back
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private SessionFactoryImplementor sessionFactory;
+
+    private Counter publishedCounter;
+
+    private Counter publishFailedCounter;
+
+    private Counter receivedCounter;
+
+    @PostConstruct
+    void init() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        Statistics statistics = sessionFactory.getStatistics();
+        hitRatioGauge("entity", statistics, Statistics::getSecondLevelCacheHitCount, Statistics::getSecondLevelCacheMissCount);
+        hitRatioGauge("natural-id", statistics, Statistics::getNaturalIdCacheHitCount, Statistics::getNaturalIdCacheMissCount);
+        hitRatioGauge("query", statistics, Statistics::getQueryCacheHitCount, Statistics::getQueryCacheMissCount);
+
+        publishedCounter = invalidationCounter("published", "Invalidations published to other instances");
+        publishFailedCounter = invalidationCounter("failed", "Invalidations that could not be published; other instances rely on the TTL");
+        receivedCounter = invalidationCounter("received", "Invalidations received from other instances");
+
+        if (!invalidationEnabled) {
+            log.info("Second-level cache invalidation across instances is disabled");
+            return;
+        }
+
+        ChangePublisher changePublisher = new ChangePublisher();
+        EventListenerRegistry listenerRegistry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_INSERT, changePublisher);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_UPDATE, changePublisher);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_DELETE, changePublisher);
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(invalidationChannel));
+        log.info("Second-level cache invalidation on Redis channel: {}", invalidationChannel);
+    }
+
+    /**
+     * Rows inserted outside of Hibernate's change tracking (native upserts) do not
+     * invalidate cached query results, which may hold an empty result for them.
+     * Evicts those results here and on the other instances once the insert is
+     * committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityInserted(EntityInsertedEvent event) {
+        String entityName = event.getEntityClass().getName();
+        evictQueryResults(entityName);
+        publish(Change.INSERT, entityName, null);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\" + SEPARATOR, -1);
+        if (parts.length != 4 || instanceId.equals(parts[0])) {
+            return;
+        }
+        receivedCounter.increment();
+
+        try {
+            Change change = Change.valueOf(parts[1]);
+            String entityName = parts[2];
+            Cache cache = sessionFactory.getCache();
+            if (change != Change.INSERT) {
+                cache.evictEntityData(entityName, UUID.fromString(parts[3]));
+            }
+            if (change == Change.DELETE) {
+                // Natural IDs never change, only a deleted row leaves a stale mapping
+                cache.evictNaturalIdData(entityName);
+            }
+            evictQueryResults(entityName);
+            log.debug("Evicted {} of {} {} from the second-level cache", change, entityName, parts[3]);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring invalid second-level cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    private void evictQueryResults(String entityName) {
+        // Query results do not record which rows they came from, drop the entity's regions
+        Cache cache = sessionFactory.getCache();
+        QUERY_REGIONS_BY_ENTITY.getOrDefault(entityName, List.of()).forEach(cache::evictQueryRegion);
+    }
+
+    private void publish(Change change, String entityName, Object id) {
+        if (!invalidationEnabled) {
+            return;
+        }
+        String message = String.join(SEPARATOR, instanceId, change.name(), entityName, id != null ? id.toString() : "");
+        try {
+            stringRedisTemplate.convertAndSend(invalidationChannel, message);
+            publishedCounter.increment();
+        } catch (Exception e) {
+            publishFailedCounter.increment();
+            log.warn("Could not publish second-level cache invalidation for {} {}: {}", entityName, id, e.getMessage());
+        }
+    }
+
+    private void hitRatioGauge(String cache, Statistics statistics,
+                               ToDoubleFunction<Statistics> hits, ToDoubleFunction<Statistics> misses) {
+        Gauge.builder("hibernate.l2.hit.ratio", statistics, s -> {
+                    double lookups = hits.applyAsDouble(s) + misses.applyAsDouble(s);
+                    return lookups == 0 ? 0 : hits.applyAsDouble(s) / lookups;
+                })
+                .tag("cache", cache)
+                .description("Share of second-level cache lookups answered without the database")
+                .register(meterRegistry);
+    }
+
+    private Counter invalidationCounter(String result, String description) {
+        return Counter.builder("hibernate.l2.invalidations")
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private enum Change {
+        INSERT, UPDATE, DELETE
+    }
+
+    /**
+     * Publishes committed changes to entities held in the second-level cache
+     */
+    private class ChangePublisher implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener {
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.canWriteToCache();
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            publish(Change.INSERT, event.getPersister().getEntityName(), event.getId());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            publish(Change.UPDATE, event.getPersister().getEntityName(), event.getId());
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            publish(Change.DELETE, event.getPersister().getEntityName(), event.getId());
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+    }
+}
@@ -3,15 +3,13 @@ package ma.code212.gateway.service;
 import ma.code212.gateway.model.Comment;
 import ma.code212.gateway.model.SentimentAnalysisResult;
 import ma.code212.gateway.repository.SentimentAnalysisResultRepository;
-import ma.code212.gateway.enums.Sentiment;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,38 +19,16 @@ import java.util.UUID;
 public class SentimentAnalysisResultService {
 
     private final SentimentAnalysisResultRepository sentimentAnalysisResultRepository;
+    private final SentimentResultBulkWriter sentimentResultBulkWriter;
 
     /**
-     * Create a new sentiment analysis result
+     * Store classifications for a batch of comments and mark the comments processed
+     * in one transaction, using JDBC batch inserts and a set-based comment update
      */
-    @Transactional
-    public SentimentAnalysisResult createSentimentAnalysisResult(
-            Comment comment,
+    public List<SentimentAnalysisResult> createSentimentAnalysisResults(
             String modelName,
-            Sentiment sentiment,
-            BigDecimal confidenceScore,
-            BigDecimal positiveScore,
-            BigDecimal negativeScore,
-            BigDecimal neutralScore) {
-        
-        log.info("Creating sentiment analysis result for comment ID: {} with model: {}", 
-                comment.getId(), modelName);
-        
-        SentimentAnalysisResult result = SentimentAnalysisResult.builder()
-                .comment(comment)
-                .modelName(modelName)
-                .sentiment(sentiment)
-                .confidenceScore(confidenceScore)
-                .positiveScore(positiveScore)
-                .negativeScore(negativeScore)
-                .neutralScore(neutralScore)
-                .processedAt(LocalDateTime.now())
-                .build();
-        
-        SentimentAnalysisResult savedResult = sentimentAnalysisResultRepository.save(result);
-        log.info("Created sentiment analysis result with ID: {}", savedResult.getId());
-        
-        return savedResult;
+            List<Map.Entry<Comment, FastApiService.Classification>> classifications) {
+        return sentimentResultBulkWriter.write(modelName, classifications);
     }
 
     /**
@@ -83,6 +59,13 @@ public class SentimentAnalysisResultService {
         return sentimentAnalysisResultRepository.findByCommentIdAndModelName(commentId, modelName);
     }
 
+    /**
+     * Find the most recent sentiment analysis result for a comment and model, through latest_results
+     */
+    public Optional<SentimentAnalysisResult> findLatestByCommentIdAndModelName(UUID commentId, String modelName) {
+        return sentimentAnalysisResultRepository.findLatestByCommentIdAndModelName(commentId, modelName);
+    }
+
     /**
      * Find sentiment analysis result by ID
      */
@@ -0,0 +1,169 @@
+package ma.code212.gateway.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.code212.gateway.model.Comment;
+import ma.code212.gateway.model.SentimentAnalysisResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes classification results for many comments with plain JDBC.
+ * Results are inserted with batched prepared statements, the per-model latest
+ * result of each comment is upserted into {@code latest_results}, and the
+ * classified comments are updated with one set-based
+ * {@code UPDATE ... FROM (VALUES ...)} per chunk, instead of a load and save
+ * per comment.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SentimentResultBulkWriter {
+
+    private static final String INSERT_RESULT_SQL =
+            "INSERT INTO sentiment_analysis_results " +
+            "(id, comment_id, model_name, sentiment, confidence_score, positive_score, negative_score, neutral_score, processed_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Older results never replace newer ones, whatever order concurrent writers commit in
+    private static final String UPSERT_LATEST_SQL =
+            "INSERT INTO latest_results " +
+            "(comment_id, model_name, result_id, sentiment, confidence_score, positive_score, negative_score, neutral_score, processed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (comment_id, model_name) DO UPDATE SET " +
+            "result_id = EXCLUDED.result_id, sentiment = EXCLUDED.sentiment, confidence_score = EXCLUDED.confidence_score, " +
+            "positive_score = EXCLUDED.positive_score, negative_score = EXCLUDED.negative_score, " +
+            "neutral_score = EXCLUDED.neutral_score, processed_at = EXCLUDED.processed_at " +
+            "WHERE latest_results.processed_at <= EXCLUDED.processed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${classification.bulk-write.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Insert results for the classified comments and mark the comments processed,
+     * in one transaction. Returns the inserted results.
+     */
+    @Transactional
+    @Timed("classification.results.write")
+    public List<SentimentAnalysisResult> write(String modelName,
+                                               List<Map.Entry<Comment, FastApiService.Classification>> classifications) {
+        return write(modelName, classifications, true);
+    }
+
+    /**
+     * Insert results for the classified comments, optionally leaving the comments'
+     * own sentiment untouched (e.g. for results of candidate models)
+     */
+    @Transactional
+    @Timed("classification.results.write")
+    public List<SentimentAnalysisResult> write(String modelName,
+                                               List<Map.Entry<Comment, FastApiService.Classification>> classifications,
+                                               boolean updateComments) {
+        if (classifications.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SentimentAnalysisResult> results = buildResults(modelName, classifications, now);
+
+        insertResults(results);
+        upsertLatestResults(results);
+        if (updateComments) {
+            updateComments(results, now);
+        }
+
+        log.info("Bulk wrote {} sentiment analysis results with model: {}", results.size(), modelName);
+        return results;
+    }
+
+    static List<SentimentAnalysisResult> buildResults(String modelName,
+                                                      List<Map.Entry<Comment, FastApiService.Classification>> classifications,
+                                                      LocalDateTime now) {
+        List<SentimentAnalysisResult> results = new ArrayList<>(classifications.size());
+        for (Map.Entry<Comment, FastApiService.Classification> entry : classifications) {
+            FastApiService.Classification classification = entry.getValue();
+            results.add(SentimentAnalysisResult.builder()
+                    .id(UUID.randomUUID())
+                    .comment(entry.getKey())
+                    .modelName(modelName)
+                    .sentiment(classification.getSentiment())
+                    .confidenceScore(classification.getConfidenceScore())
+                    .positiveScore(classification.getPositiveScore())
+                    .negativeScore(classification.getNegativeScore())
+                    .neutralScore(classification.getNeutralScore())
+                    .processedAt(now)
+                    .createdAt(now)
+                    .build());
+        }
+        return results;
+    }
+
+    private void insertResults(List<SentimentAnalysisResult> results) {
+        jdbcTemplate.batchUpdate(INSERT_RESULT_SQL, results, batchSize, (ps, result) -> {
+            ps.setObject(1, result.getId());
+            ps.setObject(2, result.getComment().getId());
+            ps.setString(3, result.getModelName());
+            ps.setString(4, result.getSentiment().name());
+            ps.setFloat(5, result.getConfidenceScore());
+            ps.setFloat(6, result.getPositiveScore());
+            ps.setFloat(7, result.getNegativeScore());
+            ps.setFloat(8, result.getNeutralScore());
+            ps.setTimestamp(9, Timestamp.valueOf(result.getProcessedAt()));
+            ps.setTimestamp(10, Timestamp.valueOf(result.getCreatedAt()));
+        });
+    }
+
+    private void upsertLatestResults(List<SentimentAnalysisResult> results) {
+        jdbcTemplate.batchUpdate(UPSERT_LATEST_SQL, results, batchSize, (ps, result) -> {
+            ps.setObject(1, result.getComment().getId());
+            ps.setString(2, result.getModelName());
+            ps.setObject(3, result.getId());
+            ps.setString(4, result.getSentiment().name());
+            ps.setFloat(5, result.getConfidenceScore());
+            ps.setFloat(6, result.getPositiveScore());
+            ps.setFloat(7, result.getNegativeScore());
+            ps.setFloat(8, result.getNeutralScore());
+            ps.setTimestamp(9, Timestamp.valueOf(result.getProcessedAt()));
+        });
+    }
+
+    private void updateComments(List<SentimentAnalysisResult> results, LocalDateTime now) {
+        // One row per comment; the last result wins if a comment appears twice
+        Map<UUID, SentimentAnalysisResult> latestByComment = new LinkedHashMap<>();
+        results.forEach(result -> latestByComment.put(result.getComment().getId(), result));
+        List<SentimentAnalysisResult> rows = new ArrayList<>(latestByComment.values());
+
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            List<SentimentAnalysisResult> chunk = rows.subList(start, Math.min(start + batchSize, rows.size()));
+
+            String sql = "UPDATE comments c SET sentiment = v.sentiment, confidence_score = v.confidence_score, " +
+                    "is_processed = true, claimed_at = NULL, updated_at = ? " +
+                    "FROM (VALUES " + String.join(", ", Collections.nCopies(chunk.size(), "(CAST(? AS uuid), ?, CAST(? AS real))")) + ") " +
+                    "AS v(id, sentiment, confidence_score) WHERE c.id = v.id";
+
+            List<Object> params = new ArrayList<>(1 + chunk.size() * 3);
+            params.add(Timestamp.valueOf(now));
+            for (SentimentAnalysisResult result : chunk) {
+                params.add(result.getComment().getId());
+                params.add(result.getSentiment().name());
+                params.add(result.getConfidenceScore());
+            }
+
+            jdbcTemplate.update(sql, params.toArray());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package ma.code212.gateway.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Rewrites equivalent article URLs to one canonical form, used as the article
+ * identity and for cache keys: lower-case scheme and host, no {@code www.} or
+ * mobile host prefix, no default port, no fragment, no trailing slash, no
+ * tracking parameters ({@code utm_*}, click IDs), and one percent-encoding
+ * (UTF-8, upper-case escapes, unreserved characters decoded), so decoded and
+ * encoded Arabic slugs match. The remaining query parameters keep their order.
+ */
+@Component
+public class UrlCanonicalizer {
+
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "fbclid", "gclid", "dclid", "msclkid", "yclid", "igshid", "mc_cid", "mc_eid", "_ga", "_gl");
+
+    private static final String TRACKING_PREFIX = "utm_";
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    // ASCII kept as is besides letters and digits; anything else is escaped
+    private static final String ALLOWED_ASCII = "-._~!$&'()*+,;=:@/?[]";
+
+    @Value("${scraping.canonical-url.strip-host-prefixes:www.,m.,mobile.}")
+    private String[] stripHostPrefixes;
+
+    /**
+     * Canonical form of an absolute URL; other strings are only trimmed
+     */
+    public String canonicalize(String url) {
+        String trimmed = url.trim();
+        int schemeEnd = trimmed.indexOf("://");
+        if (schemeEnd <= 0) {
+            return trimmed;
+        }
+
+        int fragmentStart = trimmed.indexOf('#', schemeEnd + 3);
+        int end = fragmentStart >= 0 ? fragmentStart : trimmed.length();
+        int authorityEnd = schemeEnd + 3;
+        while (authorityEnd < end && trimmed.charAt(authorityEnd) != '/' && trimmed.charAt(authorityEnd) != '?') {
+            authorityEnd++;
+        }
+        int queryStart = trimmed.indexOf('?', authorityEnd);
+        if (queryStart >= end) {
+            queryStart = -1;
+        }
+
+        String scheme = trimmed.substring(0, schemeEnd).toLowerCase(Locale.ROOT);
+        StringBuilder canonical = new StringBuilder(end)
+                .append(scheme)
+                .append("://");
+        appendAuthority(canonical, scheme, trimmed.substring(schemeEnd + 3, authorityEnd));
+        appendPath(canonical, trimmed.substring(authorityEnd, queryStart >= 0 ? queryStart : end));
+        if (queryStart >= 0) {
+            appendQuery(canonical, trimmed.substring(queryStart + 1, end));
+        }
+        return canonical.toString();
+    }
+
+    private void appendAuthority(StringBuilder canonical, String scheme, String authority) {
+        int userInfoEnd = authority.lastIndexOf('@');
+        String hostAndPort = authority.substring(userInfoEnd + 1);
+        if (userInfoEnd >= 0) {
+            canonical.append(authority, 0, userInfoEnd + 1);
+        }
+
+        // Skip IPv6 literals when looking for the port separator
+        int portStart = hostAndPort.lastIndexOf(':');
+        if (portStart < hostAndPort.lastIndexOf(']')) {
+            portStart = -1;
+        }
+        String host = portStart >= 0 ? hostAndPort.substring(0, portStart) : hostAndPort;
+        String port = portStart >= 0 ? hostAndPort.substring(portStart + 1) : "";
+
+        canonical.append(stripHostPrefix(host.toLowerCase(Locale.ROOT)));
+        boolean defaultPort = port.isEmpty()
+                || "http".equals(scheme) && "80".equals(port)
+                || "https".equals(scheme) && "443".equals(port);
+        if (!defaultPort) {
+            canonical.append(':').append(port);
+        }
+    }
+
+    private void appendPath(StringBuilder canonical, String path) {
+        int end = path.length();
+        while (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        if (end == 0) {
+            canonical.append('/');
+        } else {
+            appendEncoded(canonical, path, 0, end);
+        }
+    }
+
+    private void appendQuery(StringBuilder canonical, String query) {
+        boolean first = true;
+        int start = 0;
+        while (start <= query.length()) {
+            int separator = query.indexOf('&', start);
+            int end = separator >= 0 ? separator : query.length();
+            if (end > start && !isTrackingParam(query, start, end)) {
+                canonical.append(first ? '?' : '&');
+                appendEncoded(canonical, query, start, end);
+                first = false;
+            }
+            start = end + 1;
+        }
+    }
+
+    private boolean isTrackingParam(String query, int start, int end) {
+        int nameEnd = query.indexOf('=', start);
+        if (nameEnd < 0 || nameEnd > end) {
+            nameEnd = end;
+        }
+        String name = query.substring(start, nameEnd).toLowerCase(Locale.ROOT);
+        return name.startsWith(TRACKING_PREFIX) || TRACKING_PARAMS.contains(name);
+    }
+
+    private String stripHostPrefix(String host) {
+        for (String prefix : stripHostPrefixes) {
+            // Keep at least a registrable domain, e.g. m.ma stays as is
+            if (host.startsWith(prefix) && host.indexOf('.', prefix.length()) > 0) {
+                return host.substring(prefix.length());
+            }
+        }
+        return host;
+    }
+
+    /**
+     * Append the range with escapes normalized: escaped unreserved characters are
+     * decoded, other escapes are upper-cased, and non-ASCII or disallowed
+     * characters are escaped as UTF-8
+     */
+    private void appendEncoded(StringBuilder canonical, String value, int start, int end) {
+        int i = start;
+        while (i < end) {
+            char c = value.charAt(i);
+            if (c == '%' && i + 2 < end && isHex(value.charAt(i + 1)) && isHex(value.charAt(i + 2))) {
+                int b = Character.digit(value.charAt(i + 1), 16) << 4 | Character.digit(value.charAt(i + 2), 16);
+                if (isUnreserved(b)) {
+                    canonical.append((char) b);
+                } else {
+                    appendEscape(canonical, b);
+                }
+                i += 3;
+            } else if (c < 0x80 && (Character.isLetterOrDigit(c) || ALLOWED_ASCII.indexOf(c) >= 0)) {
+                canonical.append(c);
+                i++;
+            } else {
+                int codePointEnd = i + Character.charCount(value.codePointAt(i));
+                for (byte b : value.substring(i, Math.min(codePointEnd, end)).getBytes(StandardCharsets.UTF_8)) {
+                    appendEscape(canonical, b & 0xff);
+                }
+                i = codePointEnd;
+            }
+        }
+    }
+
+    private static void appendEscape(StringBuilder canonical, int b) {
+        canonical.append('%').append(HEX[b >>> 4]).append(HEX[b & 0x0f]);
+    }
+
+    private static boolean isUnreserved(int b) {
+        return b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z' || b >= '0' && b <= '9'
+                || b == '-' || b == '.' || b == '_' || b == '~';
+    }
+
+    private static boolean isHex(char c) {
+        return c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F';
+    }
+}
@@ -1,9 +1,13 @@
 package ma.code212.gateway.service;
 
+import ma.code212.gateway.dto.UserDto;
+import ma.code212.gateway.dto.UserProfileDto;
 import ma.code212.gateway.model.User;
+import ma.code212.gateway.repository.NaturalIdRepository;
 import ma.code212.gateway.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +21,8 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final NaturalIdRepository naturalIdRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Find user by email
@@ -33,10 +39,31 @@ public class UserService {
     }
 
     /**
-     * Find user by Keycloak ID
+     * Find user by Keycloak ID, from the second-level cache when present
      */
     public Optional<User> findByKeycloakId(String keycloakId) {
-        return userRepository.findByKeycloakId(keycloakId);
+        return naturalIdRepository.findUserByKeycloakId(keycloakId);
+    }
+
+    /**
+     * Find the identity fields of a user by Keycloak ID, without loading the entity
+     */
+    public Optional<UserDto> findDtoByKeycloakId(String keycloakId) {
+        return userRepository.findDtoByKeycloakId(keycloakId);
+    }
+
+    /**
+     * Find the profile fields of a user by Keycloak ID, without loading the entity
+     */
+    public Optional<UserProfileDto> findProfileByKeycloakId(String keycloakId) {
+        return userRepository.findProfileByKeycloakId(keycloakId);
+    }
+
+    /**
+     * Find the profile fields of a user by email, without loading the entity
+     */
+    public Optional<UserProfileDto> findProfileByEmail(String email) {
+        return userRepository.findProfileByEmail(email);
     }
 
     /**
@@ -92,7 +119,7 @@ public class UserService {
      */
     @Transactional
     public void updateLastLogin(String keycloakId) {
-        userRepository.findByKeycloakId(keycloakId)
+        naturalIdRepository.findUserByKeycloakId(keycloakId)
                 .ifPresent(user -> {
                     user.setLastLogin(LocalDateTime.now());
                     userRepository.save(user);
@@ -101,15 +128,27 @@ public class UserService {
     }
 
     /**
-     * Find or create user by Keycloak ID
+     * Find or create user by Keycloak ID. Known users come from the second-level
+     * cache; new users are inserted in one statement, and concurrent first logins
+     * of the same user all get the row that won the insert.
      */
     @Transactional
     public User findOrCreateByKeycloakId(String keycloakId, String email, String username, String firstName, String lastName) {
-        return userRepository.findByKeycloakId(keycloakId)
-                .orElseGet(() -> {
-                    log.info("Creating new user for Keycloak ID: {}", keycloakId);
-                    return createUser(email, username, firstName, lastName, keycloakId);
-                });
+        Optional<User> existing = naturalIdRepository.findUserByKeycloakId(keycloakId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        UUID newId = UUID.randomUUID();
+        User user = userRepository.insertIfAbsent(newId, email, username, firstName, lastName, keycloakId, LocalDateTime.now())
+                .or(() -> userRepository.findByKeycloakId(keycloakId))
+                .orElseThrow(() -> new IllegalStateException("User not found after insert for Keycloak ID: " + keycloakId));
+
+        if (newId.equals(user.getId())) {
+            eventPublisher.publishEvent(new EntityInsertedEvent(User.class));
+            log.info("Created new user with ID: {} and Keycloak ID: {}", newId, keycloakId);
+        }
+        return user;
     }
 
     /**
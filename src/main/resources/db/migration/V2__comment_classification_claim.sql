@@ -0,0 +1,12 @@
+-- Lease and attempt columns and backlog index for the auto-classification pipeline.
+-- Attempts let the pipeline stop re-claiming comments that keep failing (e.g.
+-- rejected by the model). On a fresh database Hibernate creates all of them from
+-- the Comment entity.
+DO $$
+BEGIN
+    IF to_regclass('comments') IS NOT NULL THEN
+        ALTER TABLE comments ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP;
+        ALTER TABLE comments ADD COLUMN IF NOT EXISTS classification_attempts INTEGER NOT NULL DEFAULT 0;
+        CREATE INDEX IF NOT EXISTS idx_comments_is_processed_created_at ON comments (is_processed, created_at);
+    END IF;
+END $$;
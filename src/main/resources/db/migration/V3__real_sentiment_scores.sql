@@ -0,0 +1,26 @@
+-- Store sentiment scores as 4-byte reals instead of NUMERIC(5,4).
+-- Missing per-label scores were parsed as 0 and are stored as 0 from now on.
+-- On a fresh database Hibernate creates the columns from the entities.
+DO $$
+BEGIN
+    IF to_regclass('sentiment_analysis_results') IS NOT NULL THEN
+        UPDATE sentiment_analysis_results
+        SET positive_score = COALESCE(positive_score, 0),
+            negative_score = COALESCE(negative_score, 0),
+            neutral_score = COALESCE(neutral_score, 0)
+        WHERE positive_score IS NULL OR negative_score IS NULL OR neutral_score IS NULL;
+
+        ALTER TABLE sentiment_analysis_results
+            ALTER COLUMN confidence_score TYPE real USING confidence_score::real,
+            ALTER COLUMN positive_score TYPE real USING positive_score::real,
+            ALTER COLUMN positive_score SET NOT NULL,
+            ALTER COLUMN negative_score TYPE real USING negative_score::real,
+            ALTER COLUMN negative_score SET NOT NULL,
+            ALTER COLUMN neutral_score TYPE real USING neutral_score::real,
+            ALTER COLUMN neutral_score SET NOT NULL;
+    END IF;
+
+    IF to_regclass('comments') IS NOT NULL THEN
+        ALTER TABLE comments ALTER COLUMN confidence_score TYPE real USING confidence_score::real;
+    END IF;
+END $$;
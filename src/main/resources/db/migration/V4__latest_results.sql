@@ -0,0 +1,28 @@
+-- Latest result per comment and model, backfilled from the existing results.
+-- On a fresh database Hibernate creates the table from LatestSentimentResult.
+DO $$
+BEGIN
+    IF to_regclass('sentiment_analysis_results') IS NOT NULL THEN
+        CREATE TABLE IF NOT EXISTS latest_results (
+            comment_id UUID NOT NULL,
+            model_name VARCHAR(255) NOT NULL,
+            result_id UUID NOT NULL,
+            sentiment VARCHAR(255) NOT NULL,
+            confidence_score REAL NOT NULL,
+            positive_score REAL NOT NULL,
+            negative_score REAL NOT NULL,
+            neutral_score REAL NOT NULL,
+            processed_at TIMESTAMP NOT NULL,
+            PRIMARY KEY (comment_id, model_name)
+        );
+
+        INSERT INTO latest_results (comment_id, model_name, result_id, sentiment, confidence_score,
+                                    positive_score, negative_score, neutral_score, processed_at)
+        SELECT DISTINCT ON (comment_id, model_name)
+               comment_id, model_name, id, sentiment, confidence_score,
+               positive_score, negative_score, neutral_score, COALESCE(processed_at, created_at)
+        FROM sentiment_analysis_results
+        ORDER BY comment_id, model_name, COALESCE(processed_at, created_at) DESC
+        ON CONFLICT (comment_id, model_name) DO NOTHING;
+    END IF;
+END $$;
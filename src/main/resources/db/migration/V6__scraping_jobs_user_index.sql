@@ -0,0 +1,8 @@
+-- Index for listing a user's scraping jobs, most recent first.
+-- On a fresh database Hibernate creates it from the ScrapingJob entity.
+DO $$
+BEGIN
+    IF to_regclass('scraping_jobs') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_scraping_jobs_user_id_created_at ON scraping_jobs (user_id, created_at);
+    END IF;
+END $$;
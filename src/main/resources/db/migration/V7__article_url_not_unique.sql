@@ -0,0 +1,24 @@
+-- Articles are identified by canonical_url, so the raw first-seen URL no longer
+-- needs a unique constraint; it is widened to the canonical URL's length.
+-- The constraint was generated by Hibernate, so it is looked up by column.
+-- On a fresh database Hibernate creates the column from the Article entity.
+DO $$
+DECLARE
+    url_constraint TEXT;
+BEGIN
+    IF to_regclass('articles') IS NOT NULL THEN
+        FOR url_constraint IN
+            SELECT c.conname
+            FROM pg_constraint c
+            JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+            WHERE c.conrelid = 'articles'::regclass
+              AND c.contype = 'u'
+              AND cardinality(c.conkey) = 1
+              AND a.attname = 'url'
+        LOOP
+            EXECUTE format('ALTER TABLE articles DROP CONSTRAINT %I', url_constraint);
+        END LOOP;
+
+        ALTER TABLE articles ALTER COLUMN url TYPE VARCHAR(2048);
+    END IF;
+END $$;
@@ -0,0 +1,61 @@
+package ma.code212.gateway.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keys must match SHA-256 over {@code String.getBytes(UTF_8)}, so the hand-written
+ * encoder keeps the keys of entries cached before it was introduced.
+ */
+class CacheKeyGeneratorTest {
+
+    private final CacheKeyGenerator generator = new CacheKeyGenerator();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "https://www.hespress.com/politique/article-123.html",
+            "café crème",                                    // two-byte characters
+            "تعليق على المقال",                              // Arabic, two-byte characters
+            "€ 100 — 中文评论",                              // three-byte characters
+            "great 👍😀 article",                            // surrogate pairs
+            "high \uD83D alone",                             // unpaired high surrogate
+            "low \uDE00 alone",                              // unpaired low surrogate
+            "trailing high \uD83D",                          // high surrogate at the end
+            "\uDE00\uD83D reversed pair"                     // low before high is not a pair
+    })
+    void matchesMessageDigestOverUtf8(String value) {
+        assertThat(generator.sha256Key("scraping", value)).isEqualTo(expectedKey("scraping", value));
+    }
+
+    @Test
+    void growsTheBufferForLongValues() {
+        String value = "تعليق 😀 ".repeat(500);
+
+        assertThat(generator.sha256Key("classification", value)).isEqualTo(expectedKey("classification", value));
+    }
+
+    @Test
+    void reusesTheBufferForShorterValues() {
+        generator.sha256Key("scraping", "x".repeat(5000));
+
+        assertThat(generator.sha256Key("scraping", "short")).isEqualTo(expectedKey("scraping", "short"));
+    }
+
+    private static String expectedKey(String prefix, String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return prefix + ":" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ma.code212.gateway.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import ma.code212.gateway.model.Article;
+import ma.code212.gateway.model.User;
+import ma.code212.gateway.repository.ArticleRepository;
+import ma.code212.gateway.repository.NaturalIdRepository;
+import ma.code212.gateway.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads creating the same article or user at once must all get one row,
+ * without unique-constraint failures. Runs against a real PostgreSQL because the
+ * behaviour under test is ON CONFLICT with concurrent uncommitted inserts.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ArticleService.class, UserService.class, UrlCanonicalizer.class, NaturalIdRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FindOrCreateConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    private static final int ROUNDS = 20;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void concurrentFirstLoginsCreateOneUser() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            String keycloakId = UUID.randomUUID().toString();
+
+            Set<UUID> ids = runConcurrently(thread -> userService.findOrCreateByKeycloakId(
+                    keycloakId, keycloakId + "@example.com", keycloakId, "First", "Last").getId());
+
+            assertThat(ids).hasSize(1);
+            assertThat(userRepository.findByKeycloakId(keycloakId)).map(User::getId).contains(ids.iterator().next());
+        }
+    }
+
+    @Test
+    void concurrentScrapesOfEquivalentUrlsCreateOneArticle() throws Exception {
+        User user = userService.findOrCreateByKeycloakId("article-owner", "owner@example.com", "owner", "Article", "Owner");
+
+        for (int round = 0; round < ROUNDS; round++) {
+            String path = "/politique/article-" + round + ".html";
+            List<String> variants = List.of(
+                    "https://www.hespress.com" + path,
+                    "https://m.hespress.com" + path + "?utm_source=facebook",
+                    "HTTPS://hespress.com" + path + "/#comments");
+
+            Set<UUID> ids = runConcurrently(thread -> articleService.findOrCreateArticle(
+                    variants.get(thread % variants.size()), "Article " + thread, user).getId());
+
+            assertThat(ids).hasSize(1);
+            assertThat(articleRepository.findByCanonicalUrl("https://hespress.com" + path))
+                    .map(Article::getId)
+                    .contains(ids.iterator().next());
+        }
+    }
+
+    /**
+     * Run the call on all threads released at the same moment, and collect the results
+     */
+    private Set<UUID> runConcurrently(Function<Integer, UUID> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<UUID>> futures = new ArrayList<>(THREADS);
+            for (int thread = 0; thread < THREADS; thread++) {
+                int index = thread;
+                Callable<UUID> task = () -> {
+                    start.await();
+                    return call.apply(index);
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+
+            List<UUID> ids = new ArrayList<>(THREADS);
+            for (Future<UUID> future : futures) {
+                ids.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return Set.copyOf(ids);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
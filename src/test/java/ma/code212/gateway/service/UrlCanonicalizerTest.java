@@ -0,0 +1,82 @@
+package ma.code212.gateway.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlCanonicalizerTest {
+
+    private UrlCanonicalizer canonicalizer;
+
+    @BeforeEach
+    void setUp() {
+        canonicalizer = new UrlCanonicalizer();
+        ReflectionTestUtils.setField(canonicalizer, "stripHostPrefixes", new String[]{"www.", "m.", "mobile."});
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            # scheme and host case, path case kept
+            HTTPS://WWW.Hespress.COM/Politique/Article.html | https://hespress.com/Politique/Article.html
+            # host prefixes
+            https://www.hespress.com/a                      | https://hespress.com/a
+            https://m.hespress.com/a                        | https://hespress.com/a
+            https://mobile.hespress.com/a                   | https://hespress.com/a
+            https://m.ma/a                                  | https://m.ma/a
+            https://news.hespress.com/a                     | https://news.hespress.com/a
+            # default ports
+            http://hespress.com:80/a                        | http://hespress.com/a
+            https://hespress.com:443/a                      | https://hespress.com/a
+            http://hespress.com:443/a                       | http://hespress.com:443/a
+            https://hespress.com:8443/a                     | https://hespress.com:8443/a
+            # fragments
+            https://hespress.com/a#comments                 | https://hespress.com/a
+            https://hespress.com/a?id=1#comments            | https://hespress.com/a?id=1
+            # trailing slash
+            https://hespress.com/a/                         | https://hespress.com/a
+            https://hespress.com/a//?id=1                   | https://hespress.com/a?id=1
+            https://hespress.com/                           | https://hespress.com/
+            https://hespress.com                            | https://hespress.com/
+            # tracking parameters, other parameters keep their order
+            https://hespress.com/a?utm_source=fb&utm_medium=social | https://hespress.com/a
+            https://hespress.com/a?id=5&utm_source=fb&page=2       | https://hespress.com/a?id=5&page=2
+            https://hespress.com/a?UTM_Campaign=x                  | https://hespress.com/a
+            https://hespress.com/a?fbclid=abc&gclid=def&msclkid=g  | https://hespress.com/a
+            https://hespress.com/a?page=2&fbclid=abc               | https://hespress.com/a?page=2
+            # percent-encoding
+            https://hespress.com/%d9%85%d9%82%d8%a7%d9%84   | https://hespress.com/%D9%85%D9%82%D8%A7%D9%84
+            https://hespress.com/مقال                       | https://hespress.com/%D9%85%D9%82%D8%A7%D9%84
+            https://hespress.com/a?q=مقال                   | https://hespress.com/a?q=%D9%85%D9%82%D8%A7%D9%84
+            https://hespress.com/%7Euser%2dname             | https://hespress.com/~user-name
+            https://hespress.com/a%2fb                      | https://hespress.com/a%2Fb
+            https://hespress.com/a b                        | https://hespress.com/a%20b
+            # not an absolute URL
+            not-a-url                                       | not-a-url
+            """)
+    void canonicalizes(String url, String expected) {
+        assertThat(canonicalizer.canonicalize(url)).isEqualTo(expected);
+    }
+
+    @Test
+    void trimsSurroundingWhitespace() {
+        assertThat(canonicalizer.canonicalize("  https://hespress.com/a/  ")).isEqualTo("https://hespress.com/a");
+    }
+
+    @Test
+    void variantsOfOneArticleShareACanonicalUrl() {
+        List<String> variants = List.of(
+                "https://www.hespress.com/مقال-123.html",
+                "https://m.hespress.com/%d9%85%d9%82%d8%a7%d9%84-123.html?utm_source=facebook",
+                "HTTPS://HESPRESS.COM:443/%D9%85%D9%82%D8%A7%D9%84-123.html#comments",
+                "https://mobile.hespress.com/مقال-123.html/?fbclid=abc");
+
+        assertThat(variants).extracting(canonicalizer::canonicalize).containsOnly(
+                "https://hespress.com/%D9%85%D9%82%D8%A7%D9%84-123.html");
+    }
+}